@@ -0,0 +1,86 @@
+package nl._42.beanie.benchmark;
+
+import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.benchmark.domain.Order;
+import nl._42.beanie.benchmark.domain.Person;
+import nl._42.beanie.benchmark.domain.PersonBuildCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hot paths of the bean builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanBuilderBenchmark {
+
+    private BeanBuilder beanBuilder;
+
+    private Person template;
+
+    @Setup
+    public void setUp() {
+        beanBuilder = new BeanBuilder();
+
+        template = new Person();
+        template.setName("Jan");
+        template.setEmail("jan@42.nl");
+        template.setAge(42);
+    }
+
+    @Benchmark
+    public Person constructShallow() {
+        return beanBuilder.start(Person.class).fill().construct();
+    }
+
+    @Benchmark
+    public Order constructDeep() {
+        return beanBuilder.start(Order.class).fill().construct();
+    }
+
+    @Benchmark
+    public Person startAs() {
+        return beanBuilder.startAs(PersonBuildCommand.class)
+                          .withName("Jan")
+                          .withEmail("jan@42.nl")
+                          .fill()
+                          .construct();
+    }
+
+    @Benchmark
+    public Person load() {
+        return beanBuilder.start(Person.class).load(template).construct();
+    }
+
+    @Benchmark
+    public Object generateString() {
+        return beanBuilder.generate(String.class);
+    }
+
+    @Benchmark
+    public Object generateUUID() {
+        return beanBuilder.generate(UUID.class);
+    }
+
+    @Benchmark
+    public Object generateLocalDate() {
+        return beanBuilder.generate(LocalDate.class);
+    }
+
+}
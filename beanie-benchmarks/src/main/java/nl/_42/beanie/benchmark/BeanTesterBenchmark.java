@@ -0,0 +1,47 @@
+package nl._42.beanie.benchmark;
+
+import nl._42.beanie.benchmark.domain.Order;
+import nl._42.beanie.benchmark.domain.Person;
+import nl._42.beanie.tester.BeanTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the verification of getters and setters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanTesterBenchmark {
+
+    private BeanTester beanTester;
+
+    @Setup
+    public void setUp() {
+        beanTester = new BeanTester();
+    }
+
+    @Benchmark
+    public void verifyShallow() {
+        beanTester.verifyBean(Person.class);
+    }
+
+    @Benchmark
+    public void verifyDeep() {
+        beanTester.verifyBean(Order.class);
+    }
+
+}
@@ -0,0 +1,35 @@
+package nl._42.beanie.benchmark.domain;
+
+public class Address {
+
+    private String street;
+
+    private String city;
+
+    private Country country;
+
+    public String getStreet() {
+        return street;
+    }
+
+    public void setStreet(String street) {
+        this.street = street;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public Country getCountry() {
+        return country;
+    }
+
+    public void setCountry(Country country) {
+        this.country = country;
+    }
+
+}
@@ -0,0 +1,11 @@
+package nl._42.beanie.benchmark.domain;
+
+import nl._42.beanie.EditableBeanBuildCommand;
+
+public interface PersonBuildCommand extends EditableBeanBuildCommand<Person> {
+
+    PersonBuildCommand withName(String name);
+
+    PersonBuildCommand withEmail(String email);
+
+}
@@ -0,0 +1,168 @@
+package nl._42.beanie.benchmark.save;
+
+import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.benchmark.save.domain.Company;
+import nl._42.beanie.benchmark.save.domain.Department;
+import nl._42.beanie.benchmark.save.domain.Employee;
+import nl._42.beanie.save.BeanSaver;
+import nl._42.beanie.save.JpaBeanSaver;
+import nl._42.beanie.save.NoOperationBeanSaver;
+import nl._42.beanie.save.TransactionalBeanSaver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks seeding through the bean savers, on an in-memory H2 database.
+ * Each invocation saves a batch of beans, the <code>rows</code> counter
+ * reports the number of rows inserted per second.
+ * <p>
+ * The depth determines the saved graph: a company, a department of a
+ * company or an employee of a department of a company. The number of
+ * threads is varied by {@link SaverBenchmarkRunner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanSaverBenchmark {
+
+    private static final Class<?>[] ROOT_CLASSES = { Company.class, Department.class, Employee.class };
+
+    @Param
+    private SaverType saver;
+
+    @Param({ "1", "2", "3" })
+    private int depth;
+
+    @Param({ "1", "50" })
+    private int batchSize;
+
+    private AnnotationConfigApplicationContext context;
+
+    private BeanBuilder beanBuilder;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Class<?> rootClass;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of(SaverBenchmarkConfig.BATCH_SIZE_PROPERTY, batchSize)));
+        context.register(SaverBenchmarkConfig.class);
+        context.refresh();
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        beanBuilder = new BeanBuilder(saver.create(context.getBean(JpaBeanSaver.class), transactionManager));
+        rootClass = ROOT_CLASSES[depth - 1];
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM employee");
+        jdbcTemplate.update("DELETE FROM department");
+        jdbcTemplate.update("DELETE FROM company");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void save(Rows rows) {
+        if (saver == SaverType.JPA) {
+            transactionTemplate.executeWithoutResult(status -> saveBatch());
+        } else {
+            saveBatch();
+        }
+        rows.rows += (long) batchSize * depth;
+    }
+
+    private void saveBatch() {
+        for (int index = 0; index < batchSize; index++) {
+            beanBuilder.start(rootClass).fill().save();
+        }
+    }
+
+    /**
+     * Bean saver under test.
+     */
+    public enum SaverType {
+
+        /**
+         * Persists in a shared transaction per batch, flushed in JDBC batches.
+         */
+        JPA {
+            @Override
+            BeanSaver create(JpaBeanSaver jpaBeanSaver, PlatformTransactionManager transactionManager) {
+                return jpaBeanSaver;
+            }
+        },
+
+        /**
+         * Persists each bean in a separate transaction.
+         */
+        TRANSACTIONAL {
+            @Override
+            BeanSaver create(JpaBeanSaver jpaBeanSaver, PlatformTransactionManager transactionManager) {
+                return new TransactionalBeanSaver(transactionManager, jpaBeanSaver);
+            }
+        },
+
+        /**
+         * Does not persist at all, the baseline cost of building.
+         */
+        NONE {
+            @Override
+            BeanSaver create(JpaBeanSaver jpaBeanSaver, PlatformTransactionManager transactionManager) {
+                return new NoOperationBeanSaver();
+            }
+        };
+
+        abstract BeanSaver create(JpaBeanSaver jpaBeanSaver, PlatformTransactionManager transactionManager);
+
+    }
+
+    /**
+     * Rows inserted, reported per second next to the invocations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package nl._42.beanie.benchmark.save;
+
+import nl._42.beanie.benchmark.save.domain.Company;
+import nl._42.beanie.save.JpaBeanSaver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * In-memory H2 database with Hibernate, for benchmarking the bean savers.
+ * The JDBC batch size is taken from the {@value #BATCH_SIZE_PROPERTY} property.
+ */
+@Configuration
+public class SaverBenchmarkConfig {
+
+    static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+
+    @Bean
+    public DataSource dataSource() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource, @Value("${" + BATCH_SIZE_PROPERTY + "}") int batchSize) {
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.hbm2ddl.auto", "create");
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty(BATCH_SIZE_PROPERTY, Integer.toString(batchSize));
+
+        LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setPackagesToScan(Company.class.getPackageName());
+        entityManagerFactory.setJpaProperties(properties);
+        return entityManagerFactory;
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public JpaBeanSaver jpaBeanSaver() {
+        return new JpaBeanSaver();
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+}
@@ -0,0 +1,33 @@
+package nl._42.beanie.benchmark.save;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the {@link BeanSaverBenchmark} once per number of threads, taken from
+ * the {@value #THREADS_PROPERTY} system property (default <code>1,2,4</code>).
+ * Accepts the regular JMH command line options, e.g. <code>-p saver=JPA</code>.
+ * <p>
+ * <code>java -cp beanie-benchmarks/target/benchmarks.jar nl._42.beanie.benchmark.save.SaverBenchmarkRunner</code>
+ */
+public class SaverBenchmarkRunner {
+
+    static final String THREADS_PROPERTY = "beanie.benchmark.threads";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        for (String threads : System.getProperty(THREADS_PROPERTY, "1,2,4").split(",")) {
+            OptionsBuilder options = new OptionsBuilder();
+            options.parent(commandLine);
+            options.include(BeanSaverBenchmark.class.getSimpleName());
+            options.threads(Integer.parseInt(threads.trim()));
+            options.addProfiler(GCProfiler.class);
+            new Runner(options.build()).run();
+        }
+    }
+
+}
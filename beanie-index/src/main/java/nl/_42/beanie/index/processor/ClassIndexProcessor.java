@@ -0,0 +1,187 @@
+package nl._42.beanie.index.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes all compiled types, with their kind and complete type hierarchy, to
+ * <code>META-INF/beanie.idx</code>. Beanie reads this index to find beans and
+ * implementations without scanning the classpath.
+ * <p>
+ * Each line in the index describes one independent type, formatted as
+ * <code>className;kind;superType,superType</code>, where the kind is either
+ * <code>CLASS</code>, <code>ABSTRACT</code> or <code>INTERFACE</code>.
+ * <p>
+ * Incremental compiles only process the changed types, so these are merged
+ * into the index already present in the class output. Existing entries are
+ * dropped when their type can no longer be found, or when their top level
+ * type was compiled again, so deleted and renamed types do not survive.
+ * <p>
+ * Types are written alphabetically on class name.
+ */
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor {
+
+    static final String LOCATION = "META-INF/beanie.idx";
+
+    private static final String OBJECT_CLASS_NAME = Object.class.getName();
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    /**
+     * Top level types compiled in this run, which replace all their existing entries.
+     */
+    private final Set<String> compiled = new HashSet<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                if (element instanceof TypeElement type) {
+                    compiled.add(binaryName(type));
+                }
+                collect(element);
+            }
+        }
+        return false;
+    }
+
+    private void collect(Element element) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+
+        String className = binaryName(type);
+        entries.put(className, className + ";" + kindOf(type) + ";" + String.join(",", superTypesOf(type)));
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (isIndependent(enclosed)) {
+                collect(enclosed);
+            }
+        }
+    }
+
+    private boolean isIndependent(Element element) {
+        ElementKind kind = element.getKind();
+        return kind.isInterface() || kind == ElementKind.ENUM || kind == ElementKind.RECORD
+                || (kind == ElementKind.CLASS && element.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private String kindOf(TypeElement type) {
+        if (type.getKind().isInterface()) {
+            return "INTERFACE";
+        } else if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "ABSTRACT";
+        } else {
+            return "CLASS";
+        }
+    }
+
+    private Set<String> superTypesOf(TypeElement type) {
+        Set<String> superTypes = new LinkedHashSet<>();
+        collectSuperTypes(type.asType(), superTypes);
+        return superTypes;
+    }
+
+    private void collectSuperTypes(TypeMirror type, Set<String> superTypes) {
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() == TypeKind.DECLARED) {
+                TypeElement element = (TypeElement) ((DeclaredType) superType).asElement();
+                String className = binaryName(element);
+                if (!OBJECT_CLASS_NAME.equals(className) && superTypes.add(className)) {
+                    collectSuperTypes(superType, superTypes);
+                }
+            }
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> merged = readExistingIndex();
+        merged.putAll(entries);
+
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : merged.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ioe) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + LOCATION + ": " + ioe.getMessage());
+        }
+    }
+
+    private Map<String, String> readExistingIndex() {
+        Map<String, String> existing = new TreeMap<>();
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf(';');
+                    if (separator > 0 && exists(line.substring(0, separator))) {
+                        existing.put(line.substring(0, separator), line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No index written yet
+        }
+        return existing;
+    }
+
+    private boolean exists(String className) {
+        int nested = className.indexOf('$');
+        String topLevelName = nested > 0 ? className.substring(0, nested) : className;
+        if (compiled.contains(topLevelName)) {
+            return false;
+        }
+        return processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null;
+    }
+
+}
@@ -0,0 +1,106 @@
+package nl._42.beanie.index.processor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClassIndexProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteIndex() throws IOException {
+        Path sources = Files.createDirectories(directory.resolve("src/example"));
+        Files.writeString(sources.resolve("Shape.java"), "package example; public interface Shape {}");
+        Files.writeString(sources.resolve("AbstractShape.java"), "package example; public abstract class AbstractShape implements Shape {}");
+        Files.writeString(sources.resolve("Square.java"),
+                "package example; public class Square extends AbstractShape { public static class Builder {} public class Side {} }");
+
+        Path output = Files.createDirectories(directory.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null,
+                "-d", output.toString(),
+                "-processor", ClassIndexProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path"),
+                sources.resolve("Shape.java").toString(),
+                sources.resolve("AbstractShape.java").toString(),
+                sources.resolve("Square.java").toString());
+
+        Assertions.assertEquals(0, result);
+
+        List<String> lines = Files.readAllLines(output.resolve(ClassIndexProcessor.LOCATION));
+        Assertions.assertEquals(List.of(
+                "example.AbstractShape;ABSTRACT;example.Shape",
+                "example.Shape;INTERFACE;",
+                "example.Square;CLASS;example.AbstractShape,example.Shape",
+                "example.Square$Builder;CLASS;"
+        ), lines);
+    }
+
+    @Test
+    public void testMergeIndex() throws IOException {
+        Path sources = Files.createDirectories(directory.resolve("src/example"));
+        Files.writeString(sources.resolve("Shape.java"), "package example; public interface Shape {}");
+        Files.writeString(sources.resolve("Circle.java"), "package example; public class Circle implements Shape {}");
+
+        Path output = Files.createDirectories(directory.resolve("classes"));
+        Assertions.assertEquals(0, compile(output, sources.resolve("Shape.java"), sources.resolve("Circle.java")));
+
+        // Incremental compile of a single changed type
+        Files.writeString(sources.resolve("Circle.java"), "package example; public class Circle {}");
+        Assertions.assertEquals(0, compile(output, sources.resolve("Circle.java")));
+
+        List<String> lines = Files.readAllLines(output.resolve(ClassIndexProcessor.LOCATION));
+        Assertions.assertEquals(List.of(
+                "example.Circle;CLASS;",
+                "example.Shape;INTERFACE;"
+        ), lines);
+    }
+
+    @Test
+    public void testMergeIndexWithoutRemovedTypes() throws IOException {
+        Path sources = Files.createDirectories(directory.resolve("src/example"));
+        Files.writeString(sources.resolve("Shape.java"), "package example; public interface Shape {}");
+        Files.writeString(sources.resolve("Circle.java"), "package example; public class Circle implements Shape {}");
+        Files.writeString(sources.resolve("Square.java"), "package example; public class Square { public static class Builder {} }");
+
+        Path output = Files.createDirectories(directory.resolve("classes"));
+        Assertions.assertEquals(0, compile(output, sources.resolve("Shape.java"), sources.resolve("Circle.java"), sources.resolve("Square.java")));
+
+        // Delete a type, and rename a nested type
+        Files.delete(sources.resolve("Circle.java"));
+        Files.delete(output.resolve("example/Circle.class"));
+        Files.writeString(sources.resolve("Square.java"), "package example; public class Square { public static class Factory {} }");
+        Assertions.assertEquals(0, compile(output, sources.resolve("Square.java")));
+
+        List<String> lines = Files.readAllLines(output.resolve(ClassIndexProcessor.LOCATION));
+        Assertions.assertEquals(List.of(
+                "example.Shape;INTERFACE;",
+                "example.Square;CLASS;",
+                "example.Square$Factory;CLASS;"
+        ), lines);
+    }
+
+    private int compile(Path output, Path... sources) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "-d", output.toString(),
+                "-classpath", output.toString(),
+                "-processor", ClassIndexProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path")));
+        for (Path source : sources) {
+            arguments.add(source.toString());
+        }
+        return ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0]));
+    }
+
+}
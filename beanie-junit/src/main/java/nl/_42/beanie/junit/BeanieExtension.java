@@ -0,0 +1,113 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.junit;
+
+import nl._42.beanie.BeanBuilder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Injects a {@link BeanBuilder} into test methods and enforces the declared
+ * {@link FixtureBudget}. Tests that exceed their budget fail with the cost
+ * broken down by bean type.
+ * <p>
+ * Register declaratively, using a new bean builder per test class:
+ * <pre>
+ * &#64;ExtendWith(BeanieExtension.class)
+ * &#64;FixtureBudget(maxBuildMillis = 50, maxObjects = 500, maxSaves = 20)
+ * class OrderTest {
+ *
+ *     &#64;Test
+ *     void order(BeanBuilder beanBuilder) { ... }
+ *
+ * }
+ * </pre>
+ * The default bean builder has no bean saver, so saved beans are only counted.
+ * Or programmatically, to share a configured bean builder that persists them:
+ * <pre>
+ * &#64;RegisterExtension
+ * static BeanieExtension beanie = new BeanieExtension(() -&gt; beanBuilder);
+ * </pre>
+ */
+public class BeanieExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
+
+    private static final Namespace NAMESPACE = Namespace.create(BeanieExtension.class);
+
+    private final Supplier<BeanBuilder> beanBuilderSupplier;
+
+    public BeanieExtension() {
+        this(BeanBuilder::new);
+    }
+
+    public BeanieExtension(Supplier<BeanBuilder> beanBuilderSupplier) {
+        this.beanBuilderSupplier = beanBuilderSupplier;
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == BeanBuilder.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return getBeanBuilder(extensionContext);
+    }
+
+    private BeanBuilder getBeanBuilder(ExtensionContext context) {
+        ExtensionContext classContext = context.getTestMethod().isPresent() ? context.getParent().orElse(context) : context;
+        return classContext.getStore(NAMESPACE).getOrComputeIfAbsent(BeanBuilder.class, type -> beanBuilderSupplier.get(), BeanBuilder.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        FixtureUsage usage = new FixtureUsage();
+        getBeanBuilder(context).addListener(usage);
+        context.getStore(NAMESPACE).put(FixtureUsage.class, usage);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        FixtureUsage usage = context.getStore(NAMESPACE).remove(FixtureUsage.class, FixtureUsage.class);
+        if (usage == null) {
+            return;
+        }
+        getBeanBuilder(context).removeListener(usage);
+        findBudget(context).ifPresent(budget -> verify(budget, usage));
+    }
+
+    private static Optional<FixtureBudget> findBudget(ExtensionContext context) {
+        Optional<FixtureBudget> budget = AnnotationSupport.findAnnotation(context.getElement(), FixtureBudget.class);
+        if (budget.isEmpty()) {
+            budget = context.getTestClass().flatMap(testClass -> AnnotationSupport.findAnnotation(testClass, FixtureBudget.class));
+        }
+        return budget;
+    }
+
+    private static void verify(FixtureBudget budget, FixtureUsage usage) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "build millis", usage.getBuildMillis(), budget.maxBuildMillis());
+        check(violations, "objects", usage.getObjects(), budget.maxObjects());
+        check(violations, "saves", usage.getSaves(), budget.maxSaves());
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Fixture budget exceeded: " + String.join(", ", violations) + usage);
+        }
+    }
+
+    private static void check(List<String> violations, String name, long actual, long max) {
+        if (max >= 0 && actual > max) {
+            violations.add(actual + " " + name + " > " + max);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.junit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum cost of the fixtures built in a test. When placed on
+ * a class, the budget applies to each test of that class, unless the test
+ * declares its own budget. Negative values are unlimited.
+ *
+ * @see BeanieExtension
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface FixtureBudget {
+
+    /**
+     * @return the maximum milliseconds spent building beans, including nested beans
+     */
+    long maxBuildMillis() default -1;
+
+    /**
+     * @return the maximum number of beans built, including nested beans
+     */
+    long maxObjects() default -1;
+
+    /**
+     * Saves are counted as requested from the bean builder. The default
+     * {@link BeanieExtension} builder has no saver configured, so these saves
+     * are counted without persisting anything.
+     *
+     * @return the maximum number of beans saved
+     */
+    long maxSaves() default -1;
+
+}
@@ -0,0 +1,113 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.junit;
+
+import nl._42.beanie.BeanBuildListener;
+import nl._42.beanie.save.BeanSaver;
+import org.springframework.util.ClassUtils;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the fixture cost of a single test, per bean type. Only the
+ * outermost builds are added to the build time, so nested beans are
+ * not counted twice. Failed builds also leave the nesting, so later
+ * builds in the same test are still measured.
+ */
+final class FixtureUsage implements BeanBuildListener {
+
+    private final ThreadLocal<int[]> nesting = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Map<Class<?>, Usage> usages = new ConcurrentHashMap<>();
+
+    private final LongAdder buildNanos = new LongAdder();
+
+    private final LongAdder objects = new LongAdder();
+
+    private final LongAdder saves = new LongAdder();
+
+    @Override
+    public void onBuildStart(Class<?> beanClass) {
+        nesting.get()[0]++;
+    }
+
+    @Override
+    public void onBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+        if (--nesting.get()[0] == 0) {
+            buildNanos.add(nanos);
+        }
+        objects.increment();
+        Usage usage = getUsage(beanClass);
+        usage.builds.increment();
+        usage.nanos.add(nanos);
+    }
+
+    @Override
+    public void onBuildFailed(Class<?> beanClass, Throwable failure) {
+        nesting.get()[0]--;
+    }
+
+    /**
+     * Counts saved beans, ignoring generated platform values such as
+     * strings that are passed through the saver as well.
+     */
+    @Override
+    public void onSave(BeanSaver beanSaver, Object bean, long nanos) {
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
+        if (!beanClass.getModule().isNamed()) {
+            saves.increment();
+            getUsage(beanClass).saves.increment();
+        }
+    }
+
+    private Usage getUsage(Class<?> beanClass) {
+        return usages.computeIfAbsent(beanClass, type -> new Usage());
+    }
+
+    long getBuildMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(buildNanos.sum());
+    }
+
+    long getObjects() {
+        return objects.sum();
+    }
+
+    long getSaves() {
+        return saves.sum();
+    }
+
+    /**
+     * Render the usage per bean type, most expensive first.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        usages.entrySet().stream()
+              .sorted(Map.Entry.<Class<?>, Usage>comparingByValue(Comparator.comparingLong(usage -> usage.nanos.sum())).reversed())
+              .forEach(entry -> result.append(System.lineSeparator())
+                                      .append("  ").append(entry.getKey().getName())
+                                      .append(": ").append(entry.getValue()));
+        return result.toString();
+    }
+
+    private static final class Usage {
+
+        private final LongAdder builds = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final LongAdder saves = new LongAdder();
+
+        @Override
+        public String toString() {
+            return builds.sum() + " built in " + TimeUnit.NANOSECONDS.toMillis(nanos.sum()) + " ms, " + saves.sum() + " saved";
+        }
+
+    }
+
+}
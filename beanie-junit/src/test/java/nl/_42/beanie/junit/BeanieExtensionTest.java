@@ -0,0 +1,114 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.junit;
+
+import nl._42.beanie.BeanBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+public class BeanieExtensionTest {
+
+    @Test
+    public void testWithinBudget() {
+        execute(WithinBudget.class).assertStatistics(stats -> stats.succeeded(2).failed(0));
+    }
+
+    @Test
+    public void testExceedsBudget() {
+        Events events = execute(ExceedsBudget.class);
+        events.assertStatistics(stats -> stats.succeeded(1).failed(1));
+        events.assertThatEvents().haveExactly(1, event(test("build"), finishedWithFailure(
+                instanceOf(AssertionError.class),
+                message(message -> message.startsWith("Fixture budget exceeded: 3 objects > 2, 3 saves > 0") &&
+                                   message.contains(Order.class.getName() + ": 1 built"))
+        )));
+    }
+
+    private static Events execute(Class<?> testClass) {
+        return EngineTestKit.engine("junit-jupiter").selectors(selectClass(testClass)).execute().testEvents();
+    }
+
+    @ExtendWith(BeanieExtension.class)
+    @FixtureBudget(maxObjects = 3, maxSaves = 3)
+    static class WithinBudget {
+
+        @Test
+        void build(BeanBuilder beanBuilder) {
+            Assertions.assertNotNull(beanBuilder.start(Order.class).fill().save().getCustomer());
+        }
+
+        @Test
+        @FixtureBudget(maxObjects = 1)
+        void nothing(BeanBuilder beanBuilder) {
+            Assertions.assertNotNull(beanBuilder);
+        }
+
+    }
+
+    @ExtendWith(BeanieExtension.class)
+    @FixtureBudget(maxObjects = 2, maxSaves = 0)
+    static class ExceedsBudget {
+
+        @Test
+        void build(BeanBuilder beanBuilder) {
+            beanBuilder.start(Order.class).fill().save();
+        }
+
+        @Test
+        @FixtureBudget
+        void unlimited(BeanBuilder beanBuilder) {
+            beanBuilder.start(Order.class).fill().save();
+        }
+
+    }
+
+    public static class Order {
+
+        private Customer customer;
+
+        private Customer invoiceCustomer;
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer) {
+            this.customer = customer;
+        }
+
+        public Customer getInvoiceCustomer() {
+            return invoiceCustomer;
+        }
+
+        public void setInvoiceCustomer(Customer invoiceCustomer) {
+            this.invoiceCustomer = invoiceCustomer;
+        }
+
+    }
+
+    public static class Customer {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
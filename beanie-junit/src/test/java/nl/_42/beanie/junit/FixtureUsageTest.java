@@ -0,0 +1,40 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.junit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class FixtureUsageTest {
+
+    @Test
+    public void testNestedBuilds() {
+        FixtureUsage usage = new FixtureUsage();
+        usage.onBuildStart(String.class);
+        usage.onBuildStart(Integer.class);
+        usage.onBuildEnd(Integer.class, 1, TimeUnit.MILLISECONDS.toNanos(2));
+        usage.onBuildEnd(String.class, "", TimeUnit.MILLISECONDS.toNanos(5));
+
+        Assertions.assertEquals(5, usage.getBuildMillis());
+        Assertions.assertEquals(2, usage.getObjects());
+    }
+
+    @Test
+    public void testAfterFailedBuild() {
+        FixtureUsage usage = new FixtureUsage();
+        usage.onBuildStart(String.class);
+        usage.onBuildStart(Integer.class);
+        usage.onBuildFailed(Integer.class, new IllegalStateException());
+        usage.onBuildFailed(String.class, new IllegalStateException());
+
+        usage.onBuildStart(String.class);
+        usage.onBuildEnd(String.class, "", TimeUnit.MILLISECONDS.toNanos(5));
+
+        Assertions.assertEquals(5, usage.getBuildMillis());
+        Assertions.assertEquals(1, usage.getObjects());
+    }
+
+}
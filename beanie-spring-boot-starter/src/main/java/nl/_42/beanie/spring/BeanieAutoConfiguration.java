@@ -1,6 +1,7 @@
 package nl._42.beanie.spring;
 
 import io.beanmapper.BeanMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import nl._42.beanie.BeanBuilder;
 import nl._42.beanie.convert.BeanConverter;
 import nl._42.beanie.convert.BeanMapperConverter;
@@ -9,6 +10,7 @@ import nl._42.beanie.save.BeanSaver;
 import nl._42.beanie.save.JpaBeanSaver;
 import nl._42.beanie.save.NoOperationBeanSaver;
 import nl._42.beanie.save.TransactionalBeanSaver;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -71,6 +73,18 @@ public class BeanieAutoConfiguration {
 
   }
 
+  @Configuration
+  @ConditionalOnClass(MeterRegistry.class)
+  @ConditionalOnProperty(name = "beanie.metrics.enabled", havingValue = "true", matchIfMissing = true)
+  public static class MetricsBeanieAutoConfiguration {
+
+    @Bean
+    public BeanieConfigurer beanieMetricsConfigurer(ObjectProvider<MeterRegistry> registry) {
+      return beanBuilder -> registry.ifAvailable(it -> new BeanieMetrics(it).bindTo(beanBuilder));
+    }
+
+  }
+
   @Configuration
   @ConditionalOnBean(BeanMapper.class)
   public static class BeanMapperBeanieAutoConfiguration {
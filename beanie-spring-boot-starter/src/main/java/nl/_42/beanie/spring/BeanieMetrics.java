@@ -0,0 +1,119 @@
+package nl._42.beanie.spring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import nl._42.beanie.BeanBuildListener;
+import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.save.BeanSaver;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the activity of a bean builder as Micrometer meters, tagged by bean class:
+ * <ul>
+ *   <li><code>beanie.build</code> timer of constructed beans</li>
+ *   <li><code>beanie.properties.generated</code> counter of generated properties, per generator</li>
+ *   <li><code>beanie.save</code> and <code>beanie.delete</code> timers, per bean saver</li>
+ *   <li><code>beanie.generator.resolutions</code> counter of generator cache hits and misses</li>
+ * </ul>
+ * Generators and savers declared as lambda or method reference are tagged as
+ * {@value #LAMBDA}, as their runtime class name differs between runs.
+ * <p>
+ * Percentiles can be enabled through the regular distribution properties, e.g.
+ * <code>management.metrics.distribution.percentiles-histogram.beanie.build=true</code>.
+ */
+public class BeanieMetrics implements BeanBuildListener {
+
+  static final String LAMBDA = "lambda";
+
+  private final MeterRegistry registry;
+
+  private final Map<Class<?>, Timer> buildTimers = new ConcurrentHashMap<>();
+
+  private final Map<MeterKey, Counter> propertyCounters = new ConcurrentHashMap<>();
+
+  private final Map<MeterKey, Timer> saveTimers = new ConcurrentHashMap<>();
+
+  private final Map<MeterKey, Timer> deleteTimers = new ConcurrentHashMap<>();
+
+  public BeanieMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Start publishing the activity of a bean builder.
+   * @param beanBuilder the bean builder
+   */
+  public void bindTo(BeanBuilder beanBuilder) {
+    FunctionCounter.builder("beanie.generator.resolutions", beanBuilder, BeanBuilder::getGeneratorCacheHits)
+                   .description("Generator lookups of the bean builder")
+                   .tag("result", "hit")
+                   .register(registry);
+    FunctionCounter.builder("beanie.generator.resolutions", beanBuilder, BeanBuilder::getGeneratorCacheMisses)
+                   .description("Generator lookups of the bean builder")
+                   .tag("result", "miss")
+                   .register(registry);
+    beanBuilder.addListener(this);
+  }
+
+  @Override
+  public void onBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+    buildTimers.computeIfAbsent(beanClass, type ->
+      Timer.builder("beanie.build")
+           .description("Beans constructed by the bean builder")
+           .tag("type", type.getName())
+           .register(registry)
+    ).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onPropertyGenerated(Class<?> beanClass, String propertyName, ValueGenerator generator, long nanos) {
+    propertyCounters.computeIfAbsent(new MeterKey(beanClass, generator.getClass()), key ->
+      Counter.builder("beanie.properties.generated")
+             .description("Property values generated by the bean builder")
+             .tag("type", key.type().getName())
+             .tag("generator", nameOf(key.component()))
+             .register(registry)
+    ).increment();
+  }
+
+  @Override
+  public void onSave(BeanSaver beanSaver, Object bean, long nanos) {
+    record("beanie.save", "Beans saved by the bean builder", saveTimers, beanSaver, bean, nanos);
+  }
+
+  @Override
+  public void onDelete(BeanSaver beanSaver, Object bean, long nanos) {
+    record("beanie.delete", "Beans deleted by the bean builder", deleteTimers, beanSaver, bean, nanos);
+  }
+
+  private void record(String name, String description, Map<MeterKey, Timer> timers, BeanSaver beanSaver, Object bean, long nanos) {
+    timers.computeIfAbsent(new MeterKey(ClassUtils.getUserClass(bean), beanSaver.getClass()), key ->
+      Timer.builder(name)
+           .description(description)
+           .tag("type", key.type().getName())
+           .tag("saver", nameOf(key.component()))
+           .register(registry)
+    ).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String nameOf(Class<?> componentClass) {
+    if (componentClass.isSynthetic() || componentClass.isHidden()) {
+      return LAMBDA;
+    }
+    return ClassUtils.getUserClass(componentClass).getName();
+  }
+
+  /**
+   * Bean class combined with the generator or saver class.
+   */
+  private record MeterKey(Class<?> type, Class<?> component) {
+  }
+
+}
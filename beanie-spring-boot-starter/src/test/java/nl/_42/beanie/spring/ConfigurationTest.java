@@ -1,5 +1,7 @@
 package nl._42.beanie.spring;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl._42.beanie.BeanBuilder;
 import nl._42.beanie.spring.domain.Person;
 import nl._42.beanie.spring.domain.PersonResult;
@@ -12,6 +14,7 @@ import java.util.function.Function;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 public class ConfigurationTest {
@@ -19,6 +22,9 @@ public class ConfigurationTest {
     @Autowired
     private BeanBuilder beanie;
 
+    @Autowired
+    private MeterRegistry registry;
+
     @Test
     public void loads() {
         assertNotNull(beanie);
@@ -69,4 +75,27 @@ public class ConfigurationTest {
         assertNull(person.getId());
     }
 
+    @Test
+    public void metrics() {
+        beanie.start(Person.class).generateValue("name").save();
+        beanie.start(Person.class).generateValue("name").save();
+
+        assertTrue(registry.get("beanie.build").tag("type", Person.class.getName()).timer().count() >= 2);
+        assertTrue(registry.get("beanie.save").tag("type", Person.class.getName()).timer().count() >= 2);
+        assertTrue(registry.get("beanie.properties.generated").tag("type", Person.class.getName()).counter().count() >= 2);
+        assertTrue(registry.get("beanie.generator.resolutions").tag("result", "hit").functionCounter().count() >= 1);
+    }
+
+    @Test
+    public void metrics_lambdaGenerator() {
+        MeterRegistry lambdaRegistry = new SimpleMeterRegistry();
+        BeanBuilder builder = new BeanBuilder();
+        builder.register(Person.class, "name", type -> "Jan");
+        new BeanieMetrics(lambdaRegistry).bindTo(builder);
+
+        builder.start(Person.class).generateValue("name").construct();
+
+        assertEquals(1, lambdaRegistry.get("beanie.properties.generated").tag("generator", BeanieMetrics.LAMBDA).counter().count());
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.save.BeanSaver;
+
+/**
+ * Receives the lifecycle events of a {@link BeanBuilder}, for example to find
+ * out which bean types or generators make the fixtures slow. Durations are
+ * measured in nanoseconds, and only when at least one listener is registered.
+ * <p>
+ * Listeners are invoked on the building thread, implementations should be
+ * thread-safe and fast.
+ *
+ * @see BeanBuilder#addListener(BeanBuildListener)
+ */
+public interface BeanBuildListener {
+
+    /**
+     * Invoked before a bean is constructed.
+     *
+     * @param beanClass the bean class
+     */
+    default void onBuildStart(Class<?> beanClass) {
+    }
+
+    /**
+     * Invoked after a bean is constructed, including its nested beans.
+     *
+     * @param beanClass the bean class
+     * @param bean the constructed bean
+     * @param nanos the elapsed nanoseconds
+     */
+    default void onBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+    }
+
+    /**
+     * Invoked instead of {@link #onBuildEnd} when constructing a bean fails.
+     *
+     * @param beanClass the bean class
+     * @param failure the cause of the failure
+     */
+    default void onBuildFailed(Class<?> beanClass, Throwable failure) {
+    }
+
+    /**
+     * Invoked after a property value is generated.
+     *
+     * @param beanClass the bean class
+     * @param propertyName the property name
+     * @param generator the generator used
+     * @param nanos the elapsed nanoseconds
+     */
+    default void onPropertyGenerated(Class<?> beanClass, String propertyName, ValueGenerator generator, long nanos) {
+    }
+
+    /**
+     * Invoked after a bean is saved.
+     *
+     * @param beanSaver the bean saver
+     * @param bean the saved bean
+     * @param nanos the elapsed nanoseconds
+     */
+    default void onSave(BeanSaver beanSaver, Object bean, long nanos) {
+    }
+
+    /**
+     * Invoked after a bean is deleted.
+     *
+     * @param beanSaver the bean saver
+     * @param bean the deleted bean
+     * @param nanos the elapsed nanoseconds
+     */
+    default void onDelete(BeanSaver beanSaver, Object bean, long nanos) {
+    }
+
+}
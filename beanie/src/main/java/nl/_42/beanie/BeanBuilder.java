@@ -11,6 +11,7 @@ import nl._42.beanie.generator.ValueGenerator;
 import nl._42.beanie.generator.supported.PredicateSupportable;
 import nl._42.beanie.generator.supported.Supportable;
 import nl._42.beanie.generator.supported.SupportableValueGenerators;
+import nl._42.beanie.jfr.GeneratePropertyEvent;
 import nl._42.beanie.save.BeanSaver;
 import nl._42.beanie.save.NoOperationBeanSaver;
 import nl._42.beanie.util.PropertyReference;
@@ -26,12 +27,17 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -47,6 +53,13 @@ public class BeanBuilder implements ValueGenerator {
     
     private static final String WITH_PREFIX = "with";
 
+    private static final BeanBuildListener[] NO_LISTENERS = new BeanBuildListener[0];
+
+    /**
+     * Default maximum depth of cyclic nested beans within a single build.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 8;
+
     /**
      * Collection of properties that should be skipped.
      */
@@ -72,6 +85,57 @@ public class BeanBuilder implements ValueGenerator {
      */
     private final BeanGenerator beanGenerator;
 
+    /**
+     * Immutable classes that are built through their constructor.
+     */
+    private final Set<Class<?>> immutableClasses = new HashSet<>();
+
+    /**
+     * Construction plans of records and immutable classes.
+     */
+    private final Map<Class<?>, Optional<ConstructorBeanPlan>> constructorPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Property metadata of beans built through setters.
+     */
+    private final Map<Class<?>, BeanPropertyPlan> propertyPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Resolved generators per property, cleared on each registration.
+     */
+    private final Map<PropertyReference, ValueGenerator> resolvedGenerators = new ConcurrentHashMap<>();
+
+    private final LongAdder resolvedGeneratorHits = new LongAdder();
+
+    private final LongAdder resolvedGeneratorMisses = new LongAdder();
+
+    /**
+     * Lifecycle listeners, replaced as a whole on each change.
+     */
+    private volatile BeanBuildListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Generates nested beans without recursion.
+     */
+    private final GraphGenerator graphGenerator = new GraphGenerator(this);
+
+    /**
+     * Subclasses that override {@link #generateValue} are invoked for each
+     * property, so primitives are then generated through the same hook.
+     */
+    private final boolean unboxPrimitives = !overrides("generateValue", Class.class, PropertyDescriptor.class) &&
+            !overrides("generateValue", Class.class, String.class, Class.class);
+
+    /**
+     * Subclasses that override {@link #generate(Class)} or {@link #generateValue}
+     * are invoked for each nested bean.
+     */
+    private final boolean deferNestedBeans = unboxPrimitives && !overrides("generate", Class.class);
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+
+    private boolean reuseInstances;
+
     private BeanConverter beanConverter;
     
     /**
@@ -123,9 +187,13 @@ public class BeanBuilder implements ValueGenerator {
     public BeanBuilder(BeanBuilder beanBuilder) {
         this.skippedProperties.addAll(beanBuilder.skippedProperties);
         this.propertyGenerators.putAll(beanBuilder.propertyGenerators);
+        this.immutableClasses.addAll(beanBuilder.immutableClasses);
         this.typeGenerator = beanBuilder.typeGenerator.clone();
         this.beanGenerator = beanBuilder.beanGenerator;
         this.beanSaver = beanBuilder.beanSaver;
+        this.listeners = beanBuilder.listeners;
+        this.maxDepth = beanBuilder.maxDepth;
+        this.reuseInstances = beanBuilder.reuseInstances;
     }
 
     /**
@@ -136,6 +204,10 @@ public class BeanBuilder implements ValueGenerator {
      * @return the bean build command
      */
     public <T> EditableBeanBuildCommand<T> start(Class<T> beanClass) {
+        ConstructorBeanPlan plan = getConstructorPlan(beanClass);
+        if (plan != null) {
+            return new ConstructorBeanBuildCommand<>(this, plan, beanConverter);
+        }
         return new DefaultBeanBuildCommand<>(this, beanClass, beanConverter);
     }
 
@@ -147,8 +219,21 @@ public class BeanBuilder implements ValueGenerator {
      * @return the bean build command
      */
     public <T> EditableBeanBuildCommand<T> start(T bean) {
+        ConstructorBeanPlan plan = getConstructorPlan(bean.getClass());
+        if (plan != null) {
+            return new ConstructorBeanBuildCommand<>(this, plan, bean, beanConverter);
+        }
         return new DefaultBeanBuildCommand<>(this, bean, beanConverter);
     }
+
+    /**
+     * Records and registered immutable classes can only be built through
+     * their canonical constructor, which requires all values upfront.
+     */
+    ConstructorBeanPlan getConstructorPlan(Class<?> beanClass) {
+        return constructorPlans.computeIfAbsent(beanClass, type ->
+                Optional.ofNullable(ConstructorBeanPlan.of(type, immutableClasses.contains(type)))).orElse(null);
+    }
     
     /**
      * Start building a new bean, using a custom builder interface.
@@ -217,6 +302,10 @@ public class BeanBuilder implements ValueGenerator {
         return (T) proxyFactory.getProxy();
     }
 
+    BeanPropertyPlan getPropertyPlan(Class<?> beanClass) {
+        return propertyPlans.computeIfAbsent(beanClass, BeanPropertyPlan::of);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -225,7 +314,18 @@ public class BeanBuilder implements ValueGenerator {
         if (typeGenerator.contains(beanClass)) {
             return typeGenerator.generate(beanClass);
         }
-        return start(beanClass).fill().construct(true);
+        return graphGenerator.generate(beanClass);
+    }
+
+    /**
+     * Explain how a bean would be generated, without building it. Lists each property,
+     * whether it is generated, which generator would be chosen and the nested beans.
+     *
+     * @param beanClass the bean class
+     * @return the generation plan, printable with {@link BeanExplanation#toString()}
+     */
+    public BeanExplanation explain(Class<?> beanClass) {
+        return new BeanExplainer(this).explain(beanClass);
     }
 
     /**
@@ -241,22 +341,93 @@ public class BeanBuilder implements ValueGenerator {
     }
 
     protected Object generateValue(Class<?> beanClass, PropertyDescriptor descriptor) {
-        PropertyReference reference = new PropertyReference(beanClass, descriptor.getName());
-        Class<?> propertyType = descriptor.getPropertyType();
+        return generateValue(beanClass, descriptor.getName(), descriptor.getPropertyType());
+    }
+
+    protected Object generateValue(Class<?> beanClass, String propertyName, Class<?> propertyType) {
+        PropertyReference reference = new PropertyReference(beanClass, propertyName);
         ValueGenerator generator = findGenerator(reference, propertyType);
-        
+        GeneratePropertyEvent event = new GeneratePropertyEvent();
+        event.begin();
+        Object value;
+        if (!isListening()) {
+            value = generateValue(reference, generator, propertyType);
+        } else {
+            long start = System.nanoTime();
+            value = generateValue(reference, generator, propertyType);
+            firePropertyGenerated(beanClass, propertyName, generator, System.nanoTime() - start);
+        }
+        event.commit(beanClass, propertyName, generator);
+        return value;
+    }
+
+    private Object generateValue(PropertyReference reference, ValueGenerator generator, Class<?> propertyType) {
         try {
             if (generator instanceof PropertyValueGenerator) {
                 return ((PropertyValueGenerator) generator).generate(reference, propertyType);
             } else {
-                return generator.generate(descriptor.getPropertyType());
+                return generator.generate(propertyType);
             }
         } catch (RuntimeException rte) {
-            throw new IllegalStateException("Could not generate property '" + descriptor.getName() + "' for: " + beanClass.getName(), rte);
+            throw new IllegalStateException("Could not generate property '" + reference.getPropertyName() + "' for: " + reference.getDeclaringClass().getName(), rte);
         }
     }
 
+    /**
+     * Find the generator of a property, allowing primitive values
+     * to be generated without boxing.
+     */
+    ValueGenerator findGenerator(Class<?> beanClass, String propertyName, Class<?> propertyType) {
+        return findGenerator(new PropertyReference(beanClass, propertyName), propertyType);
+    }
+
     private ValueGenerator findGenerator(PropertyReference reference, Class<?> propertyType) {
+        ValueGenerator generator = resolvedGenerators.get(reference);
+        if (generator != null) {
+            resolvedGeneratorHits.increment();
+            return generator;
+        }
+
+        resolvedGeneratorMisses.increment();
+        generator = resolveGenerator(reference, propertyType);
+        resolvedGenerators.put(reference, generator);
+        return generator;
+    }
+
+    /**
+     * Determine if primitive properties can be generated without boxing,
+     * which bypasses the {@link #generateValue} hooks.
+     */
+    boolean isUnboxPrimitives() {
+        return unboxPrimitives;
+    }
+
+    /**
+     * Determine if a type is built as nested bean through its setters,
+     * allowing the graph generator to defer it onto its work stack.
+     */
+    boolean isNestedBean(Class<?> type) {
+        return deferNestedBeans && !type.isPrimitive() && !type.isArray() && !type.isInterface() &&
+                !Modifier.isAbstract(type.getModifiers()) && getConstructorPlan(type) == null;
+    }
+
+    /**
+     * Determine where the generator of a property is registered,
+     * in the same order as {@link #resolveGenerator}.
+     */
+    BeanExplanation.Source findSource(Class<?> beanClass, String propertyName, Class<?> propertyType) {
+        PropertyReference reference = new PropertyReference(beanClass, propertyName);
+        if (propertyGenerators.containsKey(reference)) {
+            return BeanExplanation.Source.PROPERTY;
+        } else if (findSupportedGenerator(reference) != null) {
+            return BeanExplanation.Source.SUPPORTABLE;
+        } else if (typeGenerator.find(propertyType) != null) {
+            return BeanExplanation.Source.TYPE;
+        }
+        return BeanExplanation.Source.NESTED_BEAN;
+    }
+
+    private ValueGenerator resolveGenerator(PropertyReference reference, Class<?> propertyType) {
         ValueGenerator generator = this;
         if (propertyGenerators.containsKey(reference)) {
             generator = propertyGenerators.get(reference);
@@ -264,8 +435,11 @@ public class BeanBuilder implements ValueGenerator {
             ValueGenerator supportedGenerator = findSupportedGenerator(reference);
             if (supportedGenerator != null) {
                 generator = supportedGenerator;
-            } else if (typeGenerator.contains(propertyType)) {
-                generator = typeGenerator;
+            } else {
+                ValueGenerator typeBasedGenerator = typeGenerator.find(propertyType);
+                if (typeBasedGenerator != null) {
+                    generator = typeBasedGenerator;
+                }
             }
         }
         return generator;
@@ -295,6 +469,26 @@ public class BeanBuilder implements ValueGenerator {
         return this;
     }
 
+    /**
+     * Register an immutable class, that is built through its constructor rather
+     * than its setters. The class should be final, have only final fields and a
+     * constructor accepting each field, in order of declaration. Records are
+     * always built through their canonical constructor.
+     *
+     * @param beanClass the immutable class
+     * @return this instance
+     */
+    public BeanBuilder registerImmutable(Class<?> beanClass) {
+        if (!ConstructorBeanPlan.isImmutable(beanClass)) {
+            throw new IllegalArgumentException(
+                format("Class %s is not immutable, or has no constructor accepting all fields", beanClass.getName())
+            );
+        }
+        immutableClasses.add(beanClass);
+        constructorPlans.remove(beanClass);
+        return this;
+    }
+
     /**
      * Register a value generation strategy for a specific property reference.
      * 
@@ -305,6 +499,7 @@ public class BeanBuilder implements ValueGenerator {
      */
     public BeanBuilder register(Class<?> declaringClass, String propertyName, ValueGenerator generator) {
         propertyGenerators.put(new PropertyReference(declaringClass, propertyName), generator);
+        resolvedGenerators.clear();
         return this;
     }
     
@@ -329,6 +524,7 @@ public class BeanBuilder implements ValueGenerator {
      */
     public BeanBuilder register(Class<?> valueType, ValueGenerator generator) {
         typeGenerator.register(valueType, generator);
+        resolvedGenerators.clear();
         return this;
     }
 
@@ -341,6 +537,7 @@ public class BeanBuilder implements ValueGenerator {
      */
     public <T> BeanBuilder register(Class<T> valueType, Supplier<T> generator) {
         typeGenerator.register(valueType, generator);
+        resolvedGenerators.clear();
         return this;
     }
 
@@ -353,6 +550,7 @@ public class BeanBuilder implements ValueGenerator {
      */
     public BeanBuilder register(Supportable predicate, ValueGenerator generator) {
         supportedGenerators.add(new SupportableValueGenerators(generator, predicate));
+        resolvedGenerators.clear();
         return this;
     }
     
@@ -389,7 +587,18 @@ public class BeanBuilder implements ValueGenerator {
         if (bean == null) {
             return null;
         }
-        return beanSaver.save(bean);
+        BeanBuildListener[] listeners = this.listeners;
+        if (listeners.length == 0) {
+            return beanSaver.save(bean);
+        }
+
+        long start = System.nanoTime();
+        T saved = beanSaver.save(bean);
+        long nanos = System.nanoTime() - start;
+        for (BeanBuildListener listener : listeners) {
+            listener.onSave(beanSaver, saved, nanos);
+        }
+        return saved;
     }
 
     /**
@@ -398,7 +607,18 @@ public class BeanBuilder implements ValueGenerator {
      * @param bean the bean to delete
      */
     public void delete(Object bean) {
+        BeanBuildListener[] listeners = this.listeners;
+        if (listeners.length == 0) {
+            beanSaver.delete(bean);
+            return;
+        }
+
+        long start = System.nanoTime();
         beanSaver.delete(bean);
+        long nanos = System.nanoTime() - start;
+        for (BeanBuildListener listener : listeners) {
+            listener.onDelete(beanSaver, bean, nanos);
+        }
     }
     
     /**
@@ -408,7 +628,81 @@ public class BeanBuilder implements ValueGenerator {
      */
     public void deleteAll(Iterable<? extends Object> beans) {
         for (Object bean : beans) {
-            beanSaver.delete(bean);
+            delete(bean);
+        }
+    }
+
+    /**
+     * Retrieves the number of generator lookups served from the resolution cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getGeneratorCacheHits() {
+        return resolvedGeneratorHits.sum();
+    }
+
+    /**
+     * Retrieves the number of generator lookups that had to be resolved.
+     *
+     * @return the number of cache misses
+     */
+    public long getGeneratorCacheMisses() {
+        return resolvedGeneratorMisses.sum();
+    }
+
+    /**
+     * Register a lifecycle listener.
+     *
+     * @param listener the listener
+     * @return this instance
+     */
+    public synchronized BeanBuilder addListener(BeanBuildListener listener) {
+        BeanBuildListener[] extended = Arrays.copyOf(listeners, listeners.length + 1);
+        extended[listeners.length] = listener;
+        listeners = extended;
+        return this;
+    }
+
+    /**
+     * Remove a lifecycle listener, when registered.
+     *
+     * @param listener the listener
+     * @return this instance
+     */
+    public synchronized BeanBuilder removeListener(BeanBuildListener listener) {
+        listeners = Arrays.stream(listeners).filter(current -> current != listener).toArray(BeanBuildListener[]::new);
+        return this;
+    }
+
+    /**
+     * Determine if any listener is registered, allowing callers
+     * to skip measuring durations when nobody is interested.
+     */
+    boolean isListening() {
+        return listeners.length > 0;
+    }
+
+    void fireBuildStart(Class<?> beanClass) {
+        for (BeanBuildListener listener : listeners) {
+            listener.onBuildStart(beanClass);
+        }
+    }
+
+    void fireBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+        for (BeanBuildListener listener : listeners) {
+            listener.onBuildEnd(beanClass, bean, nanos);
+        }
+    }
+
+    void fireBuildFailed(Class<?> beanClass, Throwable failure) {
+        for (BeanBuildListener listener : listeners) {
+            listener.onBuildFailed(beanClass, failure);
+        }
+    }
+
+    void firePropertyGenerated(Class<?> beanClass, String propertyName, ValueGenerator generator, long nanos) {
+        for (BeanBuildListener listener : listeners) {
+            listener.onPropertyGenerated(beanClass, propertyName, generator, nanos);
         }
     }
     
@@ -429,7 +723,66 @@ public class BeanBuilder implements ValueGenerator {
     public Set<PropertyReference> getSkippedProperties() {
         return skippedProperties;
     }
+
+    /**
+     * Retrieves the generator of a property, without using or filling the cache.
+     *
+     * @param beanClass the bean class
+     * @param propertyName the property name
+     * @param propertyType the property type
+     * @return the generator, or this bean builder for nested beans
+     */
+    public ValueGenerator getGenerator(Class<?> beanClass, String propertyName, Class<?> propertyType) {
+        return resolveGenerator(new PropertyReference(beanClass, propertyName), propertyType);
+    }
     
+    private boolean overrides(String methodName, Class<?>... parameterTypes) {
+        return ReflectionUtils.findMethod(getClass(), methodName, parameterTypes).getDeclaringClass() != BeanBuilder.class;
+    }
+
+    GraphGenerator getGraphGenerator() {
+        return graphGenerator;
+    }
+
+    /**
+     * @return the maximum depth of cyclic nested beans within a single build
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Limit the depth of cyclic nested beans within a single build. A nested bean
+     * with the same type as one of the beans it is nested in, beyond this depth,
+     * is not generated and remains {@code null}. Acyclic graphs are always
+     * generated completely.
+     *
+     * @param maxDepth the maximum depth, where the built bean itself is zero
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum depth should not be negative");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return whether instances are reused per type within a single build
+     */
+    public boolean isReuseInstances() {
+        return reuseInstances;
+    }
+
+    /**
+     * Reuse the instance already created per type within a single build, rather
+     * than generating another one. Self-referencing beans then point to themselves.
+     *
+     * @param reuseInstances whether instances should be reused
+     */
+    public void setReuseInstances(boolean reuseInstances) {
+        this.reuseInstances = reuseInstances;
+    }
+
     /**
      * @param beanSaver the saver to set
      */
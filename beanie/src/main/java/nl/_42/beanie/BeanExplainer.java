@@ -0,0 +1,254 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import nl._42.beanie.BeanExplanation.Property;
+import nl._42.beanie.BeanExplanation.Source;
+import nl._42.beanie.BeanExplanation.Status;
+import nl._42.beanie.generator.BeanGenerator;
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.util.PropertyReference;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the generation plan of a bean, following the same decisions as
+ * the build commands. Each bean type is explained once and shared by all
+ * properties of that type, so wide graphs are explained in linear time.
+ * <p>
+ * The estimated objects and depth follow the graph generator: cycles are
+ * followed up to the maximum depth, or closed when instances are reused.
+ * Generators are resolved without using the cache of our bean builder,
+ * so explaining does not affect its metrics.
+ */
+final class BeanExplainer {
+
+    private final BeanBuilder beanBuilder;
+
+    /**
+     * Explanations per bean type, in order of discovery.
+     */
+    private final Map<Class<?>, BeanExplanation> explanations = new LinkedHashMap<>();
+
+    /**
+     * Nested bean types reachable from each bean type, through at least one property.
+     */
+    private final Map<Class<?>, Set<Class<?>>> reachable = new HashMap<>();
+
+    /**
+     * Estimates per bean type, depth and relevant ancestors.
+     */
+    private final Map<EstimateKey, Estimate> estimates = new HashMap<>();
+
+    BeanExplainer(BeanBuilder beanBuilder) {
+        this.beanBuilder = beanBuilder;
+    }
+
+    BeanExplanation explain(Class<?> beanClass) {
+        BeanExplanation explanation = describe(beanClass);
+        for (BeanExplanation described : explanations.values()) {
+            for (Property property : described.getProperties()) {
+                if (property.getNested() != null) {
+                    property.setCyclic(getReachable(property.getType()).contains(described.getBeanClass()));
+                }
+            }
+        }
+        for (BeanExplanation described : explanations.values()) {
+            described.setCyclic(isCyclic(described.getBeanClass()));
+            Estimate estimate = beanBuilder.isReuseInstances() ? estimateReused(described) : estimate(described, 0, Set.of(described.getBeanClass()));
+            described.setEstimate(estimate.depth, estimate.objects);
+        }
+        return explanation;
+    }
+
+    private BeanExplanation describe(Class<?> beanClass) {
+        BeanExplanation explanation = explanations.get(beanClass);
+        if (explanation != null) {
+            return explanation;
+        }
+
+        // Register before describing the properties, so cycles refer to this explanation
+        explanation = new BeanExplanation(beanClass);
+        explanations.put(beanClass, explanation);
+
+        List<Property> properties = new ArrayList<>();
+        ConstructorBeanPlan constructorPlan = beanBuilder.getConstructorPlan(beanClass);
+        if (constructorPlan != null) {
+            for (String propertyName : constructorPlan.getNames()) {
+                Class<?> propertyType = constructorPlan.getType(constructorPlan.indexOf(propertyName));
+                PropertyReference reference = new PropertyReference(beanClass, propertyName);
+                properties.add(describe(beanClass, reference, propertyType, true));
+            }
+        } else if (!beanClass.isInterface() && !Modifier.isAbstract(beanClass.getModifiers())) {
+            BeanPropertyPlan propertyPlan = beanBuilder.getPropertyPlan(beanClass);
+            for (int index = 0; index < propertyPlan.size(); index++) {
+                PropertyDescriptor descriptor = propertyPlan.getDescriptor(index);
+                if (propertyPlan.getReference(index) != null && descriptor.getPropertyType() != null && !"class".equals(descriptor.getName())) {
+                    properties.add(describe(beanClass, propertyPlan.getReference(index), descriptor.getPropertyType(), propertyPlan.isWritable(index)));
+                }
+            }
+        }
+        explanation.setProperties(properties);
+        return explanation;
+    }
+
+    private Property describe(Class<?> beanClass, PropertyReference reference, Class<?> propertyType, boolean writable) {
+        String propertyName = reference.getPropertyName();
+        if (!writable) {
+            return new Property(propertyName, propertyType, Status.READ_ONLY, null, null, null);
+        }
+        if (beanBuilder.getSkippedProperties().contains(reference)) {
+            return new Property(propertyName, propertyType, Status.SKIPPED, null, null, null);
+        }
+
+        Source source = beanBuilder.findSource(beanClass, propertyName, propertyType);
+        if (source != Source.NESTED_BEAN) {
+            ValueGenerator generator = beanBuilder.getGenerator(beanClass, propertyName, propertyType);
+            return new Property(propertyName, propertyType, Status.GENERATED, source, generator.getClass(), null);
+        }
+        return new Property(propertyName, propertyType, Status.GENERATED, source, getInstantiator(propertyType), describe(propertyType));
+    }
+
+    private Class<?> getInstantiator(Class<?> beanClass) {
+        BeanGenerator beanGenerator = beanBuilder.getBeanGenerator();
+        if (beanClass.isInterface()) {
+            return beanGenerator.getInterfaceGenerator().getClass();
+        } else if (Modifier.isAbstract(beanClass.getModifiers())) {
+            return beanGenerator.getAbstractGenerator().getClass();
+        }
+        return beanGenerator.getClass();
+    }
+
+    private Set<Class<?>> getReachable(Class<?> beanClass) {
+        Set<Class<?>> result = reachable.get(beanClass);
+        if (result == null) {
+            result = new HashSet<>();
+            Deque<Class<?>> remaining = new ArrayDeque<>();
+            remaining.push(beanClass);
+            while (!remaining.isEmpty()) {
+                for (Property property : explanations.get(remaining.pop()).getProperties()) {
+                    if (isNested(property) && result.add(property.getType())) {
+                        remaining.push(property.getType());
+                    }
+                }
+            }
+            reachable.put(beanClass, result);
+        }
+        return result;
+    }
+
+    private boolean isCyclic(Class<?> beanClass) {
+        if (getReachable(beanClass).contains(beanClass)) {
+            return true;
+        }
+        for (Class<?> nestedClass : getReachable(beanClass)) {
+            if (getReachable(nestedClass).contains(nestedClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNested(Property property) {
+        return property.getStatus() == Status.GENERATED && property.getNested() != null;
+    }
+
+    private static long countValue(Property property) {
+        return property.getStatus() == Status.GENERATED && !property.getType().isPrimitive() ? 1 : 0;
+    }
+
+    /**
+     * Estimate a build without reuse, where a nested bean is left empty when it
+     * closes a cycle beyond the maximum depth. Only the depth and ancestors that
+     * can still affect this decision are part of the key, so shared types are
+     * estimated once.
+     *
+     * @param explanation the bean being built
+     * @param depth the depth of the bean
+     * @param ancestors the types of this bean and all beans it is nested in
+     * @return the estimate of this bean and its nested beans
+     */
+    private Estimate estimate(BeanExplanation explanation, int depth, Set<Class<?>> ancestors) {
+        Class<?> beanClass = explanation.getBeanClass();
+        Set<Class<?>> relevant = new HashSet<>(ancestors);
+        relevant.retainAll(getReachable(beanClass));
+        int maxDepth = beanBuilder.getMaxDepth();
+        EstimateKey key = new EstimateKey(beanClass, explanation.isCyclic() ? Math.min(depth, maxDepth) : 0, relevant);
+        Estimate estimate = estimates.get(key);
+        if (estimate != null) {
+            return estimate;
+        }
+
+        long objects = 1;
+        int height = 0;
+        for (Property property : explanation.getProperties()) {
+            if (!isNested(property)) {
+                objects += countValue(property);
+            } else if (depth < maxDepth || !ancestors.contains(property.getType())) {
+                Set<Class<?>> path = new HashSet<>(ancestors);
+                path.add(property.getType());
+                Estimate nested = estimate(property.getNested(), depth + 1, path);
+                objects += nested.objects;
+                height = Math.max(height, nested.depth + 1);
+            }
+        }
+        estimate = new Estimate(objects, height);
+        estimates.put(key, estimate);
+        return estimate;
+    }
+
+    /**
+     * Estimate a build that reuses instances, where each type is only created
+     * once. Nested beans are registered in the same order as the graph generator.
+     *
+     * @param explanation the bean being built
+     * @return the estimate of this bean and its nested beans
+     */
+    private Estimate estimateReused(BeanExplanation explanation) {
+        Set<Class<?>> created = new HashSet<>();
+        created.add(explanation.getBeanClass());
+        Deque<BeanExplanation> remaining = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        remaining.push(explanation);
+        depths.push(0);
+
+        long objects = 0;
+        int maxDepth = 0;
+        while (!remaining.isEmpty()) {
+            BeanExplanation current = remaining.pop();
+            int depth = depths.pop();
+            objects++;
+            maxDepth = Math.max(maxDepth, depth);
+
+            List<Property> properties = current.getProperties();
+            for (int index = properties.size() - 1; index >= 0; index--) {
+                Property property = properties.get(index);
+                if (!isNested(property)) {
+                    objects += countValue(property);
+                } else if (created.add(property.getType())) {
+                    remaining.push(property.getNested());
+                    depths.push(depth + 1);
+                }
+            }
+        }
+        return new Estimate(objects, maxDepth);
+    }
+
+    private record EstimateKey(Class<?> beanClass, int depth, Set<Class<?>> ancestors) {
+    }
+
+    private record Estimate(long objects, int depth) {
+    }
+
+}
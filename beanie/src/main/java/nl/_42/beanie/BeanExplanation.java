@@ -0,0 +1,247 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolved generation plan of a bean, describing what <code>start(beanClass).fill().construct()</code>
+ * would do without building anything. Reveals accidental deep graphs and expensive generators.
+ *
+ * @see BeanBuilder#explain(Class)
+ */
+public final class BeanExplanation {
+
+    private final Class<?> beanClass;
+
+    private List<Property> properties = Collections.emptyList();
+
+    private int maxDepth;
+
+    private long estimatedObjects;
+
+    private boolean cyclic;
+
+    BeanExplanation(Class<?> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    void setProperties(List<Property> properties) {
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    void setEstimate(int maxDepth, long estimatedObjects) {
+        this.maxDepth = maxDepth;
+        this.estimatedObjects = estimatedObjects;
+    }
+
+    void setCyclic(boolean cyclic) {
+        this.cyclic = cyclic;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Retrieve the deepest nesting depth of the bean graph, where this bean is zero.
+     *
+     * @return the maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Estimate the number of objects created, being this bean, its generated
+     * property values and all nested beans. Cycles are followed up to the maximum
+     * depth, or closed when instances are reused. Primitive values are not counted.
+     *
+     * @return the estimated number of objects
+     */
+    public long getEstimatedObjects() {
+        return estimatedObjects;
+    }
+
+    /**
+     * Determine if the bean graph contains a cycle. Such graphs are generated up to
+     * the maximum depth, or closed by reusing instances when enabled.
+     *
+     * @return {@code true} when cyclic, else {@code false}
+     */
+    public boolean isCyclic() {
+        return cyclic;
+    }
+
+    /**
+     * Render the plan as an indented tree. Each nested bean type is only
+     * expanded at its first occurrence.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        append(result, "", new HashSet<>());
+        return result.toString();
+    }
+
+    private void append(StringBuilder result, String indent, Set<Class<?>> rendered) {
+        rendered.add(beanClass);
+        result.append(beanClass.getName())
+              .append(" (depth ").append(maxDepth)
+              .append(", ~").append(estimatedObjects).append(" objects)")
+              .append(System.lineSeparator());
+        for (Property property : properties) {
+            result.append(indent).append("  ").append(property.name)
+                  .append(": ").append(property.type.getSimpleName())
+                  .append(' ').append(property.status);
+            if (property.source != null) {
+                result.append(" by ").append(property.source).append(' ').append(property.generator.getSimpleName());
+            }
+            if (property.cyclic) {
+                result.append(" CYCLE");
+            }
+            if (property.nested != null && !rendered.contains(property.nested.beanClass)) {
+                result.append(" -> ");
+                property.nested.append(result, indent + "  ", rendered);
+            } else {
+                result.append(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Whether a property will be generated.
+     */
+    public enum Status {
+
+        /**
+         * Generated, as it is writable and not skipped.
+         */
+        GENERATED,
+
+        /**
+         * Skipped on the bean builder.
+         */
+        SKIPPED,
+
+        /**
+         * Not writable, so never generated.
+         */
+        READ_ONLY
+
+    }
+
+    /**
+     * Where the generator of a property is registered.
+     */
+    public enum Source {
+
+        /**
+         * Registered for this specific property.
+         */
+        PROPERTY,
+
+        /**
+         * Registered for properties matching a predicate.
+         */
+        SUPPORTABLE,
+
+        /**
+         * Registered for the property type.
+         */
+        TYPE,
+
+        /**
+         * Not registered, the value is built as nested bean.
+         */
+        NESTED_BEAN
+
+    }
+
+    /**
+     * Resolved plan of a single property.
+     */
+    public static final class Property {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final Status status;
+
+        private final Source source;
+
+        private final Class<?> generator;
+
+        private final BeanExplanation nested;
+
+        private boolean cyclic;
+
+        Property(String name, Class<?> type, Status status, Source source, Class<?> generator, BeanExplanation nested) {
+            this.name = name;
+            this.type = type;
+            this.status = status;
+            this.source = source;
+            this.generator = generator;
+            this.nested = nested;
+        }
+
+        void setCyclic(boolean cyclic) {
+            this.cyclic = cyclic;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the generator source, or {@code null} when not generated
+         */
+        public Source getSource() {
+            return source;
+        }
+
+        /**
+         * Retrieve the generator class. For nested beans this is the generator
+         * that instantiates the bean, e.g. a proxy or first implementation.
+         *
+         * @return the generator class, or {@code null} when not generated
+         */
+        public Class<?> getGenerator() {
+            return generator;
+        }
+
+        /**
+         * @return the plan of the nested bean, shared by all properties of its type,
+         *         or {@code null} when not a nested bean
+         */
+        public BeanExplanation getNested() {
+            return nested;
+        }
+
+        /**
+         * @return {@code true} when the nested bean can again contain a bean of the declaring type
+         */
+        public boolean isCyclic() {
+            return cyclic;
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import nl._42.beanie.generator.DoubleValueGenerator;
+import nl._42.beanie.generator.IntValueGenerator;
+import nl._42.beanie.generator.LongValueGenerator;
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.util.PropertyReference;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Property metadata of a bean class, resolved once per class. Properties
+ * are identified by index, allowing build commands to track their state
+ * in a bit set. Getters and setters are cached as method handles.
+ */
+final class BeanPropertyPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    private final PropertyDescriptor[] descriptors;
+
+    private final PropertyReference[] references;
+
+    private final MethodHandle[] getters;
+
+    private final MethodHandle[] setters;
+
+    /**
+     * Setters of int, long and double properties, accepting the primitive value.
+     */
+    private final MethodHandle[] primitiveSetters;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private BeanPropertyPlan(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.descriptors = BeanUtils.getPropertyDescriptors(beanClass);
+        this.references = new PropertyReference[descriptors.length];
+        this.getters = new MethodHandle[descriptors.length];
+        this.setters = new MethodHandle[descriptors.length];
+        this.primitiveSetters = new MethodHandle[descriptors.length];
+        for (int index = 0; index < descriptors.length; index++) {
+            PropertyDescriptor descriptor = descriptors[index];
+            indexes.put(descriptor.getName(), index);
+            if (descriptor.getReadMethod() != null) {
+                getters[index] = unreflect(descriptor.getReadMethod(), GETTER_TYPE);
+            }
+            if (descriptor.getWriteMethod() != null) {
+                setters[index] = unreflect(descriptor.getWriteMethod(), SETTER_TYPE);
+                Class<?> propertyType = descriptor.getPropertyType();
+                if (propertyType == int.class || propertyType == long.class || propertyType == double.class) {
+                    MethodType primitiveType = MethodType.methodType(void.class, Object.class, propertyType);
+                    primitiveSetters[index] = unreflect(descriptor.getWriteMethod(), primitiveType);
+                }
+            }
+            if (descriptor.getReadMethod() != null || descriptor.getWriteMethod() != null) {
+                references[index] = new PropertyReference(descriptor);
+            }
+        }
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            ReflectionUtils.makeAccessible(method);
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Fall back to the bean wrapper for inaccessible methods
+            return null;
+        }
+    }
+
+    /**
+     * Resolve the property plan of a bean class.
+     *
+     * @param beanClass the bean class
+     * @return the property plan
+     */
+    static BeanPropertyPlan of(Class<?> beanClass) {
+        return new BeanPropertyPlan(beanClass);
+    }
+
+    Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    int size() {
+        return descriptors.length;
+    }
+
+    /**
+     * Retrieve the index of a property.
+     *
+     * @param propertyName the property name
+     * @return the index, or {@code -1} when the property is unknown
+     */
+    int indexOf(String propertyName) {
+        Integer index = indexes.get(propertyName);
+        return index != null ? index : -1;
+    }
+
+    PropertyDescriptor getDescriptor(int index) {
+        return descriptors[index];
+    }
+
+    PropertyReference getReference(int index) {
+        return references[index];
+    }
+
+    boolean isReadable(int index) {
+        return descriptors[index].getReadMethod() != null;
+    }
+
+    boolean isWritable(int index) {
+        return descriptors[index].getWriteMethod() != null;
+    }
+
+    boolean isCollection(int index) {
+        Class<?> propertyType = descriptors[index].getPropertyType();
+        return propertyType != null && Collection.class.isAssignableFrom(propertyType);
+    }
+
+    /**
+     * Read a property value through its cached getter.
+     *
+     * @param bean the bean
+     * @param index the property index
+     * @return the value, or {@code null} when the property cannot be read
+     */
+    Object getValue(Object bean, int index) {
+        if (getters[index] == null) {
+            return null;
+        }
+        try {
+            return (Object) getters[index].invokeExact(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not read property '" + descriptors[index].getName() + "' of " + beanClass.getName(), t);
+        }
+    }
+
+    /**
+     * Determine if the value can be set directly on our setter, without conversion.
+     *
+     * @param index the property index
+     * @param value the value
+     * @return {@code true} when possible, else {@code false}
+     */
+    boolean canSetDirectly(int index, Object value) {
+        return setters[index] != null && value != null && !isCollection(index) &&
+                ClassUtils.isAssignableValue(descriptors[index].getPropertyType(), value);
+    }
+
+    /**
+     * Write a property value through its cached setter, failing
+     * just like a bean wrapper would.
+     *
+     * @param bean the bean
+     * @param index the property index
+     * @param value the value
+     */
+    void setValue(Object bean, int index, Object value) {
+        try {
+            setters[index].invokeExact(bean, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw couldNotSet(bean, index, value, t);
+        }
+    }
+
+    /**
+     * Determine if the property has an int, long or double setter.
+     *
+     * @param index the property index
+     * @return {@code true} when primitive, else {@code false}
+     */
+    boolean isPrimitive(int index) {
+        return primitiveSetters[index] != null;
+    }
+
+    /**
+     * Generate and write a primitive value, without boxing, when
+     * the generator is specialized for the property type.
+     *
+     * @param bean the bean
+     * @param index the property index
+     * @param generator the generator
+     * @return {@code true} when the value was written, else {@code false}
+     */
+    boolean generatePrimitive(Object bean, int index, ValueGenerator generator) {
+        Class<?> propertyType = descriptors[index].getPropertyType();
+        if (propertyType == int.class && generator instanceof IntValueGenerator intGenerator) {
+            int value;
+            try {
+                value = intGenerator.generateInt(propertyType);
+            } catch (RuntimeException rte) {
+                throw couldNotGenerate(index, rte);
+            }
+            try {
+                primitiveSetters[index].invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw couldNotSet(bean, index, value, t);
+            }
+        } else if (propertyType == long.class && generator instanceof LongValueGenerator longGenerator) {
+            long value;
+            try {
+                value = longGenerator.generateLong(propertyType);
+            } catch (RuntimeException rte) {
+                throw couldNotGenerate(index, rte);
+            }
+            try {
+                primitiveSetters[index].invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw couldNotSet(bean, index, value, t);
+            }
+        } else if (propertyType == double.class && generator instanceof DoubleValueGenerator doubleGenerator) {
+            double value;
+            try {
+                value = doubleGenerator.generateDouble(propertyType);
+            } catch (RuntimeException rte) {
+                throw couldNotGenerate(index, rte);
+            }
+            try {
+                primitiveSetters[index].invokeExact(bean, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw couldNotSet(bean, index, value, t);
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private IllegalStateException couldNotGenerate(int index, RuntimeException cause) {
+        return new IllegalStateException("Could not generate property '" + descriptors[index].getName() + "' for: " + beanClass.getName(), cause);
+    }
+
+    private MethodInvocationException couldNotSet(Object bean, int index, Object value, Throwable cause) {
+        PropertyChangeEvent event = new PropertyChangeEvent(bean, descriptors[index].getName(), null, value);
+        return new MethodInvocationException(event, cause);
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import nl._42.beanie.convert.BeanConverter;
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.jfr.BuildEvent;
+import nl._42.beanie.util.PropertyReference;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.CollectionFactory;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bean build command for records and immutable classes. Gathers all
+ * declared and generated values first, and only then invokes the
+ * canonical constructor exactly once.
+ *
+ * @see ConstructorBeanPlan
+ */
+class ConstructorBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
+
+    /**
+     * Reference to the bean builder, generates beans and other values.
+     */
+    private final BeanBuilder beanBuilder;
+
+    private final BeanConverter beanConverter;
+
+    /**
+     * Construction plan of our bean class.
+     */
+    private final ConstructorBeanPlan plan;
+
+    /**
+     * Component values, in order of the constructor.
+     */
+    private final Object[] values;
+
+    /**
+     * Components already touched, we only generate untouched values.
+     */
+    private final BitSet touchedProperties = new BitSet();
+
+    /**
+     * Components we want to generate values for.
+     */
+    private final BitSet propertiesToGenerate = new BitSet();
+
+    /**
+     * Custom bean saver.
+     */
+    private Function<T, T> beanSaver;
+
+    ConstructorBeanBuildCommand(BeanBuilder beanBuilder, ConstructorBeanPlan plan, BeanConverter beanConverter) {
+        this.beanBuilder = beanBuilder;
+        this.beanConverter = beanConverter;
+        this.plan = plan;
+        this.values = new Object[plan.size()];
+    }
+
+    ConstructorBeanBuildCommand(BeanBuilder beanBuilder, ConstructorBeanPlan plan, Object bean, BeanConverter beanConverter) {
+        this(beanBuilder, plan, beanConverter);
+        setBean(bean);
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                touchedProperties.set(index);
+            }
+        }
+    }
+
+    private void setBean(Object bean) {
+        System.arraycopy(plan.getValues(bean), 0, values, 0, values.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> withValue(String propertyName, Object value) {
+        int index = plan.indexOf(propertyName);
+        if (Collection.class.isAssignableFrom(plan.getType(index))) {
+            addValueToCollection(index, value);
+        } else {
+            setValue(index, value);
+        }
+        return this;
+    }
+
+    /**
+     * Add values to a collection component. Components cannot be modified
+     * after construction, so the values are added to a copy.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void addValueToCollection(int index, Object value) {
+        Collection current = (Collection) values[index];
+        Collection collection = CollectionFactory.createCollection(plan.getType(index), current != null ? current.size() + 1 : 1);
+        if (current != null) {
+            collection.addAll(current);
+        }
+
+        if (value instanceof Collection<?> values) {
+            collection.addAll(values);
+        } else if (value != null) {
+            collection.add(value);
+        }
+        setValue(index, collection);
+    }
+
+    private void setValue(int index, Object value) {
+        values[index] = value;
+        touchedProperties.set(index);
+        propertiesToGenerate.clear(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> load(Object source, String... exclusionArgs) {
+        final Collection<String> exclusions = Arrays.asList(exclusionArgs);
+
+        BeanWrapper sourceWrapper = new BeanWrapperImpl(source);
+        for (PropertyDescriptor descriptor : sourceWrapper.getPropertyDescriptors()) {
+            final String propertyName = descriptor.getName();
+            if (sourceWrapper.isReadableProperty(propertyName) && plan.contains(propertyName) && !isSkipped(propertyName, exclusions)) {
+                withValue(propertyName, sourceWrapper.getPropertyValue(propertyName));
+            }
+        }
+        return this;
+    }
+
+    private boolean isSkipped(String propertyName, Collection<String> exclusions) {
+        return exclusions.contains(propertyName) || isSkipped(propertyName);
+    }
+
+    private boolean isSkipped(String propertyName) {
+        return beanBuilder.getSkippedProperties().contains(new PropertyReference(plan.getBeanClass(), propertyName));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> map(Function<T, T> function) {
+        T result = function.apply(construct());
+        setBean(result);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <M> EditableBeanBuildCommand<M> map(Class<M> targetType) {
+        M mapped = constructAndMap(targetType);
+        return beanBuilder.start(mapped);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <I extends EditableBeanBuildCommand<M>, M> I map(Class<I> interfaceType, Class<M> targetType) {
+        M mapped = constructAndMap(targetType);
+        return beanBuilder.startAs(interfaceType, mapped);
+    }
+
+    private <M> M constructAndMap(Class<M> targetType) {
+        return beanConverter.convert(construct(), targetType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <I extends EditableBeanBuildCommand<B>, B> I as(Class<I> interfaceType) {
+        return beanBuilder.startAs(interfaceType, (B) construct());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> doWith(Consumer<T> consumer) {
+        T bean = construct();
+        consumer.accept(bean);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> generateValue(String propertyName, ValueGenerator generator) {
+        Object value = generator.generate(plan.getType(plan.indexOf(propertyName)));
+        return withValue(propertyName, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> generateValue(String... propertyNames) {
+        for (String propertyName : propertyNames) {
+            int index = plan.indexOf(propertyName);
+            touchedProperties.set(index);
+            propertiesToGenerate.set(index);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EditableBeanBuildCommand<T> fill() {
+        int index = 0;
+        for (String propertyName : plan.getNames()) {
+            if (!touchedProperties.get(index) && !isSkipped(propertyName)) {
+                touchedProperties.set(index);
+                propertiesToGenerate.set(index);
+            }
+            index++;
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T construct() {
+        return construct(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T construct(boolean autoSave) {
+        return beanBuilder.getGraphGenerator().construct(plan.getBeanClass(), () -> constructWithinBuild(autoSave));
+    }
+
+    private T constructWithinBuild(boolean autoSave) {
+        BuildEvent event = new BuildEvent();
+        event.begin();
+        T bean;
+        if (!beanBuilder.isListening()) {
+            bean = doConstruct(autoSave);
+        } else {
+            beanBuilder.fireBuildStart(plan.getBeanClass());
+            long start = System.nanoTime();
+            try {
+                bean = doConstruct(autoSave);
+            } catch (RuntimeException | Error e) {
+                beanBuilder.fireBuildFailed(plan.getBeanClass(), e);
+                throw e;
+            }
+            beanBuilder.fireBuildEnd(plan.getBeanClass(), bean, System.nanoTime() - start);
+        }
+        event.commit(plan.getBeanClass());
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T doConstruct(boolean autoSave) {
+        int index = 0;
+        for (String propertyName : plan.getNames()) {
+            if (propertiesToGenerate.get(index)) {
+                Object value = beanBuilder.generateValue(plan.getBeanClass(), propertyName, plan.getType(index));
+                if (autoSave) {
+                    value = beanBuilder.save(value);
+                }
+                setValue(index, value);
+            }
+            index++;
+        }
+        return (T) plan.instantiate(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T save() {
+        T bean = construct(true);
+        if (beanSaver != null) {
+            return beanSaver.apply(bean);
+        }
+        return beanBuilder.save(bean);
+    }
+
+    @Override
+    public EditableBeanBuildCommand<T> setBeanSaver(Function<T, T> beanSaver) {
+        this.beanSaver = beanSaver;
+        return this;
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construction plan of a record, or registered immutable class, that can only
+ * be built by passing all values into its canonical (all-args) constructor.
+ * Each component can be read back through a cached accessor.
+ */
+final class ConstructorBeanPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+    private final Class<?>[] types;
+
+    private final Object[] defaultValues;
+
+    private final MethodHandle[] getters;
+
+    private final MethodHandle constructor;
+
+    private ConstructorBeanPlan(Class<?> beanClass, List<String> names, Class<?>[] types,
+                                MethodHandle[] getters, Constructor<?> constructor) {
+        this.beanClass = beanClass;
+        this.types = types;
+        this.getters = getters;
+        this.defaultValues = new Object[types.length];
+        for (int index = 0; index < types.length; index++) {
+            indexes.put(names.get(index), index);
+            if (types[index].isPrimitive()) {
+                defaultValues[index] = Array.get(Array.newInstance(types[index], 1), 0);
+            }
+        }
+        this.constructor = unreflect(constructor);
+    }
+
+    /**
+     * Create the construction plan of a bean class.
+     *
+     * @param beanClass the bean class
+     * @param immutable whether the class is registered as immutable
+     * @return the plan, or {@code null} when the class is not a record or registered immutable class
+     */
+    static ConstructorBeanPlan of(Class<?> beanClass, boolean immutable) {
+        if (beanClass.isRecord()) {
+            return ofRecord(beanClass);
+        } else if (immutable) {
+            return ofImmutable(beanClass);
+        }
+        return null;
+    }
+
+    private static ConstructorBeanPlan ofRecord(Class<?> recordClass) {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        List<String> names = new ArrayList<>();
+        Class<?>[] types = new Class<?>[components.length];
+        MethodHandle[] getters = new MethodHandle[components.length];
+        for (int index = 0; index < components.length; index++) {
+            names.add(components[index].getName());
+            types[index] = components[index].getType();
+            Method accessor = components[index].getAccessor();
+            ReflectionUtils.makeAccessible(accessor);
+            getters[index] = unreflect(() -> MethodHandles.lookup().unreflect(accessor)).asType(GETTER_TYPE);
+        }
+        return new ConstructorBeanPlan(recordClass, names, types, getters, findConstructor(recordClass, types));
+    }
+
+    /**
+     * Immutable classes are final, have only final instance fields and
+     * a constructor accepting each field, in order of declaration.
+     */
+    static boolean isImmutable(Class<?> beanClass) {
+        if (!Modifier.isFinal(beanClass.getModifiers()) || beanClass.isEnum() || beanClass.isArray() ||
+                beanClass.isPrimitive() || beanClass.getName().startsWith("java.")) {
+            return false;
+        }
+
+        List<Field> fields = getInstanceFields(beanClass);
+        if (fields.isEmpty()) {
+            return false;
+        }
+        for (Field field : fields) {
+            if (!Modifier.isFinal(field.getModifiers())) {
+                return false;
+            }
+        }
+        return findConstructor(beanClass, getTypes(fields)) != null;
+    }
+
+    private static ConstructorBeanPlan ofImmutable(Class<?> beanClass) {
+        List<Field> fields = getInstanceFields(beanClass);
+        List<String> names = new ArrayList<>();
+        Class<?>[] types = getTypes(fields);
+        MethodHandle[] getters = new MethodHandle[fields.size()];
+        for (int index = 0; index < fields.size(); index++) {
+            Field field = fields.get(index);
+            names.add(field.getName());
+            ReflectionUtils.makeAccessible(field);
+            getters[index] = unreflect(() -> MethodHandles.lookup().unreflectGetter(field)).asType(GETTER_TYPE);
+        }
+        return new ConstructorBeanPlan(beanClass, names, types, getters, findConstructor(beanClass, types));
+    }
+
+    private static List<Field> getInstanceFields(Class<?> beanClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Class<?>[] getTypes(List<Field> fields) {
+        return fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+    }
+
+    private static Constructor<?> findConstructor(Class<?> beanClass, Class<?>[] types) {
+        for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+            if (Arrays.equals(constructor.getParameterTypes(), types)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        if (constructor == null) {
+            throw new IllegalStateException("No canonical constructor found");
+        }
+        ReflectionUtils.makeAccessible(constructor);
+        MethodHandle handle = unreflect(() -> MethodHandles.lookup().unreflectConstructor(constructor));
+        return handle.asSpreader(Object[].class, constructor.getParameterCount())
+                     .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    private static MethodHandle unreflect(HandleResolver resolver) {
+        try {
+            return resolver.resolve();
+        } catch (IllegalAccessException iae) {
+            throw new IllegalStateException("Could not access member", iae);
+        }
+    }
+
+    Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Retrieve the component names, in order of the constructor.
+     *
+     * @return the component names
+     */
+    Iterable<String> getNames() {
+        return indexes.keySet();
+    }
+
+    boolean contains(String name) {
+        return indexes.containsKey(name);
+    }
+
+    /**
+     * Retrieve the index of a component.
+     *
+     * @param name the component name
+     * @return the index
+     */
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException(
+                String.format("Unknown property '%s' in %s", name, beanClass.getSimpleName())
+            );
+        }
+        return index;
+    }
+
+    Class<?> getType(int index) {
+        return types[index];
+    }
+
+    int size() {
+        return types.length;
+    }
+
+    /**
+     * Read all component values from a bean.
+     *
+     * @param bean the bean
+     * @return the values, in order of the constructor
+     */
+    Object[] getValues(Object bean) {
+        Object[] values = new Object[types.length];
+        for (int index = 0; index < types.length; index++) {
+            try {
+                values[index] = (Object) getters[index].invokeExact(bean);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Could not read property of " + beanClass.getName(), t);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Invoke the constructor. Primitive components without
+     * value are replaced by their default value.
+     *
+     * @param values the values, in order of the constructor
+     * @return the created instance
+     */
+    Object instantiate(Object[] values) {
+        Object[] arguments = values.clone();
+        for (int index = 0; index < arguments.length; index++) {
+            if (arguments[index] == null) {
+                arguments[index] = defaultValues[index];
+            }
+        }
+        try {
+            return (Object) constructor.invokeExact(arguments);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new BeanInstantiationException(beanClass, "Could not invoke canonical constructor", t);
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandleResolver {
+
+        MethodHandle resolve() throws IllegalAccessException;
+
+    }
+
+}
@@ -5,6 +5,7 @@ package nl._42.beanie;
 
 import nl._42.beanie.convert.BeanConverter;
 import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.jfr.GeneratePropertyEvent;
 import nl._42.beanie.util.PropertyReference;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeanWrapper;
@@ -14,14 +15,17 @@ import org.springframework.beans.PropertyAccessor;
 
 import java.beans.PropertyDescriptor;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
- * Default implementation of the bean build command.
+ * Default implementation of the bean build command. Properties are tracked
+ * by their index in the {@link BeanPropertyPlan} of our bean class, while
+ * bean wrapper and field accessor are only created once needed.
  *
  * @author Jeroen van Schagen
  * @since Feb 14, 2014
@@ -32,12 +36,18 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
      * Collection of all properties already touched.
      * We store this to only generate values for untouched properties.
      */
-    private final Set<String> touchedProperties = new HashSet<>();
+    private final BitSet touchedProperties = new BitSet();
     
     /**
      * Collection of all properties we want to generate values.
      */
-    private final Set<String> propertiesToGenerate = new HashSet<>();
+    private final BitSet propertiesToGenerate = new BitSet();
+
+    /**
+     * Nested property paths we want to generate values, such as
+     * {@code "address.street"}, resolved through the bean wrapper.
+     */
+    private final Set<String> pathsToGenerate = new LinkedHashSet<>();
     
     /**
      * Reference to the bean builder, generates beans and other values.
@@ -47,14 +57,25 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
     private final BeanConverter beanConverter;
 
     /**
-     * Bean wrapper that holds a reference to the result bean.
+     * The result bean.
+     */
+    private Object bean;
+
+    /**
+     * Property metadata of our result bean.
+     */
+    private BeanPropertyPlan plan;
+
+    /**
+     * Bean wrapper that holds a reference to the result bean,
+     * created lazily.
      */
     private BeanWrapper beanWrapper;
 
     /**
      * Field accessor that holds a reference to the same result bean.
      * We need both a field accessor and bean wrapper to modify property
-     * values that have no getter and setter.
+     * values that have no getter and setter. Created lazily.
      */
     private DirectFieldAccessor fieldAccessor;
 
@@ -77,17 +98,51 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
     }
 
     private void markNotNullAsTouched() {
-        for (PropertyDescriptor descriptor : beanWrapper.getPropertyDescriptors()) {
-            final String propertyName = descriptor.getName();
-            if (beanWrapper.isReadableProperty(propertyName) && beanWrapper.getPropertyValue(propertyName) != null) {
-                markAsTouched(propertyName);
+        for (int index = 0; index < plan.size(); index++) {
+            if (plan.isReadable(index) && plan.getValue(bean, index) != null) {
+                markAsTouched(index);
             }
         }
     }
     
     private void setBean(Object bean) {
-        this.beanWrapper = new BeanWrapperImpl(bean);
-        this.fieldAccessor = new DirectFieldAccessor(bean);
+        if (plan == null || plan.getBeanClass() != bean.getClass()) {
+            BeanPropertyPlan previous = plan;
+            plan = beanBuilder.getPropertyPlan(bean.getClass());
+            if (previous != null) {
+                remap(previous, touchedProperties);
+                remap(previous, propertiesToGenerate);
+            }
+        }
+        this.bean = bean;
+        this.beanWrapper = null;
+        this.fieldAccessor = null;
+    }
+
+    private void remap(BeanPropertyPlan previous, BitSet properties) {
+        BitSet remapped = new BitSet();
+        properties.stream().forEach(index -> {
+            int current = plan.indexOf(previous.getDescriptor(index).getName());
+            if (current >= 0) {
+                remapped.set(current);
+            }
+        });
+        properties.clear();
+        properties.or(remapped);
+    }
+
+    private BeanWrapper getBeanWrapper() {
+        if (beanWrapper == null) {
+            beanWrapper = new BeanWrapperImpl(bean);
+        }
+        return beanWrapper;
+    }
+
+    private DirectFieldAccessor getFieldAccessor() {
+        if (fieldAccessor == null) {
+            fieldAccessor = new DirectFieldAccessor(bean);
+        }
+        return fieldAccessor;
     }
 
     /**
@@ -95,23 +150,38 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
      */
     @Override
     public EditableBeanBuildCommand<T> withValue(String propertyName, Object value) {
-        setPropertyValue(propertyName, value);
-        markAsTouched(propertyName);
+        int index = plan.indexOf(propertyName);
+        if (index >= 0 && plan.canSetDirectly(index, value)) {
+            plan.setValue(bean, index, value);
+        } else {
+            setPropertyValue(propertyName, value);
+        }
+        if (index >= 0) {
+            markAsTouched(index);
+        }
         return this;
     }
 
-    private void markAsTouched(String propertyName) {
-        touchedProperties.add(propertyName);
-        propertiesToGenerate.remove(propertyName);
+    private void markAsTouched(int index) {
+        touchedProperties.set(index);
+        propertiesToGenerate.clear(index);
     }
     
     private void setPropertyValue(String propertyName, Object value) {
-        if (beanWrapper.isWritableProperty(propertyName)) {
-            setPropertyValue(beanWrapper, propertyName, value);
+        if (isWritable(propertyName)) {
+            setPropertyValue(getBeanWrapper(), propertyName, value);
         } else {
-            setPropertyValue(fieldAccessor, propertyName, value);
+            setPropertyValue(getFieldAccessor(), propertyName, value);
         }
     }
+
+    private boolean isWritable(String propertyName) {
+        int index = plan.indexOf(propertyName);
+        if (index >= 0) {
+            return plan.isWritable(index);
+        }
+        return getBeanWrapper().isWritableProperty(propertyName);
+    }
     
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private void setPropertyValue(PropertyAccessor propertyAccessor, String propertyName, Object value) {
@@ -126,7 +196,7 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
         Class<?> propertyType = propertyAccessor.getPropertyType(propertyName);
         if (propertyType == null) {
             throw new IllegalArgumentException(
-                String.format("Unknown property '%s' in %s", propertyName, beanWrapper.getWrappedClass().getSimpleName())
+                String.format("Unknown property '%s' in %s", propertyName, plan.getBeanClass().getSimpleName())
             );
         }
 
@@ -159,7 +229,7 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
         BeanWrapper sourceWrapper = new BeanWrapperImpl(source);
         for (PropertyDescriptor descriptor : sourceWrapper.getPropertyDescriptors()) {
             final String propertyName = descriptor.getName();
-            if (sourceWrapper.isReadableProperty(propertyName) && beanWrapper.isWritableProperty(propertyName) && !isSkipped(propertyName, exclusions)) {
+            if (sourceWrapper.isReadableProperty(propertyName) && isWritable(propertyName) && !isSkipped(propertyName, exclusions)) {
                 withValue(propertyName, sourceWrapper.getPropertyValue(propertyName));
             }
         }
@@ -167,8 +237,23 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
     }
 
     private boolean isSkipped(String propertyName, Collection<String> exclusions) {
-        PropertyDescriptor descriptor = beanWrapper.getPropertyDescriptor(propertyName);
-        return exclusions.contains(propertyName) || beanBuilder.getSkippedProperties().contains(new PropertyReference(descriptor));
+        return exclusions.contains(propertyName) || beanBuilder.getSkippedProperties().contains(getReference(propertyName));
+    }
+
+    private PropertyReference getReference(String propertyName) {
+        int index = plan.indexOf(propertyName);
+        if (index >= 0 && plan.getReference(index) != null) {
+            return plan.getReference(index);
+        }
+        return new PropertyReference(getBeanWrapper().getPropertyDescriptor(propertyName));
+    }
+
+    private PropertyDescriptor getDescriptor(String propertyName) {
+        int index = plan.indexOf(propertyName);
+        if (index >= 0) {
+            return plan.getDescriptor(index);
+        }
+        return getBeanWrapper().getPropertyDescriptor(propertyName);
     }
     
     /**
@@ -228,7 +313,7 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
      */
     @Override
     public EditableBeanBuildCommand<T> generateValue(String propertyName, ValueGenerator generator) {
-        PropertyDescriptor descriptor = beanWrapper.getPropertyDescriptor(propertyName);
+        PropertyDescriptor descriptor = getDescriptor(propertyName);
         Object value = generator.generate(descriptor.getPropertyType());
         return this.withValue(propertyName, value);
     }
@@ -239,8 +324,13 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
     @Override
     public EditableBeanBuildCommand<T> generateValue(String... propertyNames) {
         for (String propertyName : propertyNames) {
-            touchedProperties.add(propertyName);
-            propertiesToGenerate.add(propertyName);
+            int index = plan.indexOf(propertyName);
+            if (index >= 0) {
+                touchedProperties.set(index);
+                propertiesToGenerate.set(index);
+            } else {
+                pathsToGenerate.add(propertyName);
+            }
         }
         return this;
     }
@@ -250,11 +340,11 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
      */
     @Override
     public EditableBeanBuildCommand<T> fill() {
-        for (PropertyDescriptor descriptor : beanWrapper.getPropertyDescriptors()) {
-            String propertyName = descriptor.getName();
-            if (beanWrapper.isWritableProperty(propertyName) && !touchedProperties.contains(propertyName)) {
-                if (!beanBuilder.getSkippedProperties().contains(new PropertyReference(descriptor))) {
-                    generateValue(propertyName);
+        for (int index = 0; index < plan.size(); index++) {
+            if (plan.isWritable(index) && !touchedProperties.get(index)) {
+                if (!beanBuilder.getSkippedProperties().contains(plan.getReference(index))) {
+                    touchedProperties.set(index);
+                    propertiesToGenerate.set(index);
                 }
             }
         }
@@ -275,14 +365,71 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
     @Override
     @SuppressWarnings("unchecked")
     public T construct(boolean autoSave) {
-        T bean = (T) beanWrapper.getWrappedInstance();
-        if (!AopUtils.isAopProxy(bean)) {
-            for (String propertyName : new HashSet<>(propertiesToGenerate)) {
-                generateAndSetProperty(propertyName, autoSave);
+        T bean = (T) this.bean;
+        if (AopUtils.isAopProxy(bean)) {
+            return bean;
+        }
+        return beanBuilder.getGraphGenerator().construct(this, autoSave);
+    }
+
+    /**
+     * Generate all requested properties, except for nested beans. These are
+     * left to the graph generator, which builds them without recursion.
+     *
+     * @param autoSave whether generated values should be saved
+     * @return the indexes of the nested bean properties
+     */
+    int[] generateProperties(boolean autoSave) {
+        int[] indexes = ((BitSet) propertiesToGenerate.clone()).stream().toArray();
+        int nested = 0;
+        for (int index : indexes) {
+            if (!generateAndSetProperty(index, autoSave)) {
+                indexes[nested++] = index;
+            }
+        }
+        return Arrays.copyOf(indexes, nested);
+    }
+
+    /**
+     * Generate all requested nested property paths, once the nested beans
+     * they traverse have been assigned.
+     *
+     * @param autoSave whether generated values should be saved
+     */
+    void generatePaths(boolean autoSave) {
+        for (String path : pathsToGenerate) {
+            PropertyDescriptor descriptor = getBeanWrapper().getPropertyDescriptor(path);
+            Object value = beanBuilder.generateValue(plan.getBeanClass(), descriptor);
+            if (autoSave) {
+                value = beanBuilder.save(value);
             }
+            withValue(path, value);
         }
+        pathsToGenerate.clear();
+    }
+
+    void setGeneratedValue(int index, Object value) {
+        withValue(plan.getDescriptor(index).getName(), value);
+    }
+
+    /**
+     * Leave a nested bean property empty, as it lies beyond the maximum depth.
+     */
+    void skipGeneratedValue(int index) {
+        markAsTouched(index);
+    }
+
+    Object getBean() {
         return bean;
     }
+
+    Class<?> getBeanClass() {
+        return plan.getBeanClass();
+    }
+
+    PropertyDescriptor getDescriptor(int index) {
+        return plan.getDescriptor(index);
+    }
     
     /**
      * {@inheritDoc}
@@ -301,13 +448,37 @@ class DefaultBeanBuildCommand<T> implements EditableBeanBuildCommand<T> {
         return beanBuilder.save(bean);
     }
 
-    private void generateAndSetProperty(String propertyName, boolean autoSave) {
-        PropertyDescriptor descriptor = beanWrapper.getPropertyDescriptor(propertyName);
-        Object value = beanBuilder.generateValue(beanWrapper.getWrappedClass(), descriptor);
+    private boolean generateAndSetProperty(int index, boolean autoSave) {
+        PropertyDescriptor descriptor = plan.getDescriptor(index);
+        if (plan.isPrimitive(index) && beanBuilder.isUnboxPrimitives()) {
+            ValueGenerator generator = beanBuilder.findGenerator(plan.getBeanClass(), descriptor.getName(), descriptor.getPropertyType());
+            boolean listening = beanBuilder.isListening();
+            long start = listening ? System.nanoTime() : 0L;
+            GeneratePropertyEvent event = new GeneratePropertyEvent();
+            event.begin();
+            if (plan.generatePrimitive(bean, index, generator)) {
+                event.commit(plan.getBeanClass(), descriptor.getName(), generator);
+                if (listening) {
+                    beanBuilder.firePropertyGenerated(plan.getBeanClass(), descriptor.getName(), generator, System.nanoTime() - start);
+                }
+                markAsTouched(index);
+                return true;
+            }
+        } else if (isNestedBean(descriptor)) {
+            return false;
+        }
+
+        Object value = beanBuilder.generateValue(plan.getBeanClass(), descriptor);
         if (autoSave) {
             value = beanBuilder.save(value);
         }
-        withValue(propertyName, value);
+        withValue(descriptor.getName(), value);
+        return true;
+    }
+
+    private boolean isNestedBean(PropertyDescriptor descriptor) {
+        return beanBuilder.isNestedBean(descriptor.getPropertyType()) &&
+                beanBuilder.findGenerator(plan.getBeanClass(), descriptor.getName(), descriptor.getPropertyType()) == beanBuilder;
     }
 
     @Override
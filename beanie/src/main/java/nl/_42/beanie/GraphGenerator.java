@@ -0,0 +1,344 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie;
+
+import nl._42.beanie.jfr.BuildEvent;
+import nl._42.beanie.jfr.GeneratePropertyEvent;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Generates bean graphs with an explicit work stack, rather than recursing
+ * into each nested bean. Nested beans are instantiated once their parent is
+ * expanded, filled depth first and only then saved and assigned to their
+ * parent, in the same order as a recursive build would.
+ * <p>
+ * Cycles, where a nested bean has the same type as one of the beans it is
+ * nested in, are only followed up to the maximum depth of our bean builder,
+ * also for records and constructor arguments that are built recursively.
+ * Acyclic graphs are always generated completely. Optionally a single instance
+ * is reused per type within the build, which closes cycles instead.
+ */
+final class GraphGenerator {
+
+    private final BeanBuilder beanBuilder;
+
+    /**
+     * Build in progress on the current thread, if any.
+     */
+    private final ThreadLocal<Build> builds = new ThreadLocal<>();
+
+    GraphGenerator(BeanBuilder beanBuilder) {
+        this.beanBuilder = beanBuilder;
+    }
+
+    /**
+     * Generate a bean that could not be deferred, such as a record component or
+     * constructor argument. Within a build the depth limit and reuse still apply.
+     *
+     * @param beanClass the bean class
+     * @return the generated bean, or {@code null} when closing a cycle beyond the maximum depth
+     */
+    Object generate(Class<?> beanClass) {
+        Build build = builds.get();
+        if (build == null) {
+            return withinBuild(() -> beanBuilder.start(beanClass).fill().construct(true));
+        }
+
+        Object reused = build.reuse(beanClass);
+        if (reused != null) {
+            return reused;
+        } else if (build.isCutOff(beanClass, build.depth)) {
+            return null;
+        }
+
+        build.depth++;
+        try {
+            Object bean = beanBuilder.start(beanClass).fill().construct(true);
+            build.register(beanClass, bean);
+            return bean;
+        } finally {
+            build.depth--;
+        }
+    }
+
+    /**
+     * Construct the bean of a command, including all nested beans.
+     *
+     * @param command the command
+     * @param autoSave whether nested beans should be saved
+     * @return the constructed bean
+     */
+    <T> T construct(DefaultBeanBuildCommand<T> command, boolean autoSave) {
+        return withinBuild(() -> builds.get().run(command, autoSave));
+    }
+
+    /**
+     * Construct a bean that is built at once, such as a record, within the build
+     * of the current thread. Nested beans of the same type are detected as cycle.
+     *
+     * @param beanClass the bean class
+     * @param action constructs the bean
+     * @return the constructed bean
+     */
+    <T> T construct(Class<?> beanClass, Supplier<T> action) {
+        return withinBuild(() -> {
+            Build build = builds.get();
+            build.enter(beanClass);
+            try {
+                return action.get();
+            } finally {
+                build.exit(beanClass);
+            }
+        });
+    }
+
+    /**
+     * Perform an action within the build of the current thread, starting
+     * a new build when none is in progress.
+     *
+     * @param action the action
+     * @return the result of our action
+     */
+    <T> T withinBuild(Supplier<T> action) {
+        if (builds.get() != null) {
+            return action.get();
+        }
+
+        builds.set(new Build(beanBuilder.isReuseInstances()));
+        try {
+            return action.get();
+        } finally {
+            builds.remove();
+        }
+    }
+
+    /**
+     * State of a single build, shared by all nested commands.
+     */
+    private final class Build {
+
+        /**
+         * Depth of the bean currently being expanded.
+         */
+        private int depth;
+
+        /**
+         * Types of the beans currently being expanded, which are the ancestors
+         * of any nested bean generated now, with their number of occurrences.
+         */
+        private final Map<Class<?>, Integer> ancestors = new HashMap<>();
+
+        /**
+         * Instances created per type, only when reused.
+         */
+        private final Map<Class<?>, Object> instances;
+
+        private Build(boolean reuse) {
+            this.instances = reuse ? new HashMap<>() : null;
+        }
+
+        private Object reuse(Class<?> beanClass) {
+            return instances != null ? instances.get(beanClass) : null;
+        }
+
+        private void register(Class<?> beanClass, Object bean) {
+            if (instances != null && bean != null) {
+                instances.putIfAbsent(beanClass, bean);
+            }
+        }
+
+        private void enter(Class<?> beanClass) {
+            ancestors.merge(beanClass, 1, Integer::sum);
+        }
+
+        private void exit(Class<?> beanClass) {
+            ancestors.computeIfPresent(beanClass, (type, count) -> count > 1 ? count - 1 : null);
+        }
+
+        /**
+         * Determine if a nested bean closes a cycle beyond the maximum depth,
+         * in which case it is left empty.
+         */
+        private boolean isCutOff(Class<?> beanClass, int parentDepth) {
+            return parentDepth >= beanBuilder.getMaxDepth() && ancestors.containsKey(beanClass);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T run(DefaultBeanBuildCommand<T> command, boolean autoSave) {
+            register(command.getBeanClass(), command.getBean());
+
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(new Frame(command, null, -1, depth));
+
+            int previous = depth;
+            try {
+                while (!stack.isEmpty()) {
+                    Frame frame = stack.peek();
+                    if (frame.nested == null) {
+                        expand(frame, stack, autoSave);
+                    } else {
+                        stack.pop();
+                        complete(frame, autoSave);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                fail(stack, e);
+                for (Frame frame : stack) {
+                    if (frame.started) {
+                        exit(frame.command.getBeanClass());
+                    }
+                }
+                throw e;
+            } finally {
+                depth = previous;
+            }
+            return (T) command.getBean();
+        }
+
+        /**
+         * Report all beans that started, but never completed, innermost first.
+         */
+        private void fail(Deque<Frame> stack, Throwable failure) {
+            if (!beanBuilder.isListening()) {
+                return;
+            }
+            for (Frame frame : stack) {
+                if (frame.started) {
+                    beanBuilder.fireBuildFailed(frame.command.getBeanClass(), failure);
+                }
+            }
+        }
+
+        private void expand(Frame frame, Deque<Frame> stack, boolean autoSave) {
+            frame.begin();
+            depth = frame.depth;
+            enter(frame.command.getBeanClass());
+            frame.nested = frame.command.generateProperties(autoSave);
+
+            // Push in reverse, so nested beans are built in property order
+            for (int i = frame.nested.length - 1; i >= 0; i--) {
+                int index = frame.nested[i];
+                Class<?> type = frame.command.getDescriptor(index).getPropertyType();
+                Object reused = reuse(type);
+                if (reused != null) {
+                    frame.command.setGeneratedValue(index, reused);
+                } else if (isCutOff(type, frame.depth)) {
+                    frame.command.skipGeneratedValue(index);
+                } else {
+                    DefaultBeanBuildCommand<?> child = start(frame, index, type);
+                    register(type, child.getBean());
+                    stack.push(new Frame(child, frame, index, frame.depth + 1));
+                }
+            }
+        }
+
+        private DefaultBeanBuildCommand<?> start(Frame parent, int index, Class<?> type) {
+            try {
+                DefaultBeanBuildCommand<?> child = (DefaultBeanBuildCommand<?>) beanBuilder.start(type);
+                child.fill();
+                return child;
+            } catch (RuntimeException rte) {
+                String propertyName = parent.command.getDescriptor(index).getName();
+                throw new IllegalStateException("Could not generate property '" + propertyName + "' for: " + parent.command.getBeanClass().getName(), rte);
+            }
+        }
+
+        private void complete(Frame frame, boolean autoSave) {
+            exit(frame.command.getBeanClass());
+            frame.command.generatePaths(autoSave);
+            Object bean = frame.command.getBean();
+            frame.end(bean);
+            if (frame.parent == null) {
+                return;
+            }
+
+            Object value = bean;
+            if (autoSave) {
+                value = beanBuilder.save(value);
+                if (instances != null && value != bean) {
+                    instances.replace(frame.command.getBeanClass(), bean, value);
+                }
+            }
+            frame.parent.command.setGeneratedValue(frame.index, value);
+        }
+
+    }
+
+    /**
+     * Bean on the work stack, expanded once its properties are generated.
+     */
+    private final class Frame {
+
+        private final DefaultBeanBuildCommand<?> command;
+
+        private final Frame parent;
+
+        /**
+         * Property index within the parent.
+         */
+        private final int index;
+
+        private final int depth;
+
+        private final BuildEvent buildEvent = new BuildEvent();
+
+        private GeneratePropertyEvent propertyEvent;
+
+        private long start;
+
+        private boolean started;
+
+        /**
+         * Indexes of the nested bean properties, {@code null} until expanded.
+         */
+        private int[] nested;
+
+        private Frame(DefaultBeanBuildCommand<?> command, Frame parent, int index, int depth) {
+            this.command = command;
+            this.parent = parent;
+            this.index = index;
+            this.depth = depth;
+        }
+
+        private void begin() {
+            started = true;
+            if (parent != null) {
+                propertyEvent = new GeneratePropertyEvent();
+                propertyEvent.begin();
+            }
+            buildEvent.begin();
+            if (beanBuilder.isListening()) {
+                start = System.nanoTime();
+                beanBuilder.fireBuildStart(command.getBeanClass());
+            }
+        }
+
+        private void end(Object bean) {
+            Class<?> beanClass = command.getBeanClass();
+            boolean listening = beanBuilder.isListening();
+            long nanos = listening ? System.nanoTime() - start : 0L;
+            if (listening) {
+                beanBuilder.fireBuildEnd(beanClass, bean, nanos);
+            }
+            buildEvent.commit(beanClass);
+
+            if (parent != null) {
+                Class<?> parentClass = parent.command.getBeanClass();
+                PropertyDescriptor descriptor = parent.command.getDescriptor(index);
+                propertyEvent.commit(parentClass, descriptor.getName(), beanBuilder);
+                if (listening) {
+                    beanBuilder.firePropertyGenerated(parentClass, descriptor.getName(), beanBuilder, nanos);
+                }
+            }
+        }
+
+    }
+
+}
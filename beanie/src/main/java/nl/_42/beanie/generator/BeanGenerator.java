@@ -8,11 +8,14 @@ import nl._42.beanie.generator.constructor.ShortestConstructorStrategy;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.BeanUtils;
 
 /**
- * Generator that constructs a bean. 
+ * Generator that constructs a bean. The selected constructor is
+ * resolved once per bean class, and invoked through a method handle.
  *
  * @author Jeroen van Schagen
  * @since Feb 14, 2014
@@ -38,6 +41,11 @@ public class BeanGenerator implements ValueGenerator {
      * Generates interface instances.
      */
     private ValueGenerator interfaceGenerator = new ProxyBeanGenerator();
+
+    /**
+     * Resolved constructors, per bean class.
+     */
+    private final Map<Class<?>, BeanInstantiator> instantiators = new ConcurrentHashMap<>();
     
     /**
      * Construct a new {@link BeanGenerator}.
@@ -63,19 +71,38 @@ public class BeanGenerator implements ValueGenerator {
     }
 
     private Object instantiate(Class<?> beanClass) {
-        Constructor<?> constructor = constructorStrategy.findConstructor(beanClass);
-        if (constructor != null) {
-            Class<?>[] parameterTypes = constructor.getParameterTypes();
+        BeanInstantiator instantiator = instantiators.computeIfAbsent(beanClass, this::resolve);
+        if (instantiator != null) {
+            Class<?>[] parameterTypes = instantiator.getParameterTypes();
             Object[] arguments = new Object[parameterTypes.length];
             for (int index = 0; index < parameterTypes.length; index++) {
                 arguments[index] = constructorArgGenerator.generate(parameterTypes[index]);
             }
-            return BeanUtils.instantiateClass(constructor, arguments);
+            return instantiator.instantiate(arguments);
         } else {
             return BeanUtils.instantiateClass(beanClass);
         }
     }
 
+    private BeanInstantiator resolve(Class<?> beanClass) {
+        Constructor<?> constructor = constructorStrategy.findConstructor(beanClass);
+        return constructor != null ? new BeanInstantiator(constructor) : null;
+    }
+
+    /**
+     * @return the generator used to generate abstract class instances
+     */
+    public ValueGenerator getAbstractGenerator() {
+        return abstractGenerator;
+    }
+
+    /**
+     * @return the generator used to generate interface instances
+     */
+    public ValueGenerator getInterfaceGenerator() {
+        return interfaceGenerator;
+    }
+
     /**
      * Change the generator used to generate abstract class instances.
      * 
@@ -106,6 +133,7 @@ public class BeanGenerator implements ValueGenerator {
      */
     public BeanGenerator setConstructorStrategy(ConstructorStrategy constructorStrategy) {
         this.constructorStrategy = constructorStrategy;
+        this.instantiators.clear();
         return this;
     }
 
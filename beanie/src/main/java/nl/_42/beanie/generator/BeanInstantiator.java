@@ -0,0 +1,87 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+
+/**
+ * Invokes a constructor through a pre-bound method handle. Resolved once
+ * per bean class, so instantiation skips all reflective checks.
+ */
+final class BeanInstantiator {
+
+    private final Constructor<?> constructor;
+
+    private final Class<?>[] parameterTypes;
+
+    private final Object[] defaultValues;
+
+    private final MethodHandle handle;
+
+    BeanInstantiator(Constructor<?> constructor) {
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        this.defaultValues = new Object[parameterTypes.length];
+        for (int index = 0; index < parameterTypes.length; index++) {
+            if (parameterTypes[index].isPrimitive()) {
+                defaultValues[index] = Array.get(Array.newInstance(parameterTypes[index], 1), 0);
+            }
+        }
+        this.handle = unreflect(constructor);
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            ReflectionUtils.makeAccessible(constructor);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+            int parameterCount = constructor.getParameterCount();
+            return handle.asSpreader(Object[].class, parameterCount)
+                         .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeanInstantiationException(constructor, "Could not access constructor", e);
+        }
+    }
+
+    /**
+     * Retrieve the parameter types of our constructor.
+     * The returned array is shared, and should not be modified.
+     *
+     * @return the parameter types
+     */
+    Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * Invoke the constructor. Primitive arguments without
+     * value are replaced by their default value.
+     *
+     * @param arguments the arguments, in order of the parameters
+     * @return the created instance
+     */
+    Object instantiate(Object[] arguments) {
+        for (int index = 0; index < arguments.length; index++) {
+            if (arguments[index] == null) {
+                arguments[index] = defaultValues[index];
+            }
+        }
+        try {
+            return (Object) handle.invokeExact(arguments);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new BeanInstantiationException(constructor,
+                    "Could not instantiate " + ClassUtils.getShortName(constructor.getDeclaringClass()), t);
+        }
+    }
+
+}
@@ -32,13 +32,12 @@ public class DefaultValueGenerator extends TypeBasedValueGenerator {
         registerValue(short.class, 0);
         registerValue(byte.class, 0);
         registerValue(float.class, 0);
-        registerValue(int.class, 0);
+        register(int.class, (IntValueGenerator) type -> 0);
         registerValue(Integer.class, Integer.valueOf(0));
-        registerValue(int.class, 0);
         registerValue(Double.class, Double.valueOf(0.0));
-        registerValue(double.class, 0.0);
+        register(double.class, (DoubleValueGenerator) type -> 0.0);
         registerValue(Long.class, Long.valueOf(0));
-        registerValue(long.class, 0L);
+        register(long.class, (LongValueGenerator) type -> 0L);
         registerValue(Boolean.class, Boolean.FALSE);
         registerValue(boolean.class, false);
         registerValue(BigDecimal.class, new BigDecimal("0.0"));
@@ -3,10 +3,15 @@
  */
 package nl._42.beanie.generator;
 
+import nl._42.beanie.index.ClassIndex;
+import nl._42.beanie.jfr.ClasspathScanEvent;
 import nl._42.beanie.util.Classes;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
@@ -14,20 +19,38 @@ import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
 
 /**
  * Generator that finds the first implementation of a class
- * and then generates that class.
+ * and then generates that class. Resolved implementations are
+ * cached per abstract type, so each type is only scanned once.
+ * When a {@link ClassIndex} completely covers the package, it is used instead of the classpath.
+ * <p>
+ * The index lists implementations alphabetically on class name, whereas a scan
+ * lists them in the order of the classpath resources. With multiple implementations,
+ * the first implementation may therefore differ between both. Register the
+ * implementation explicitly when this matters. Indexed classes that can no
+ * longer be loaded, such as classes deleted after the index was written, are skipped.
  *
  * @author Jeroen van Schagen
  * @since Mar 26, 2015
  */
 public class FirstImplBeanGenerator implements ValueGenerator {
     
+    private final Map<Class<?>, Class<?>> implementations = new ConcurrentHashMap<>();
+
     private final ValueGenerator beanGenerator;
+
+    private final ClassIndex classIndex;
     
     public FirstImplBeanGenerator(ValueGenerator beanGenerator) {
+        this(beanGenerator, ClassIndex.getDefault());
+    }
+
+    public FirstImplBeanGenerator(ValueGenerator beanGenerator, ClassIndex classIndex) {
         this.beanGenerator = beanGenerator;
+        this.classIndex = classIndex;
     }
     
     /**
@@ -35,16 +58,73 @@ public class FirstImplBeanGenerator implements ValueGenerator {
      */
     @Override
     public Object generate(Class<?> abstractBeanClass) {
-        Class<?> implementationClass = getFirstImplementationClass(abstractBeanClass);
+        Class<?> implementationClass = getImplementationClass(abstractBeanClass);
         return beanGenerator.generate(implementationClass);
     }
+
+    /**
+     * Resolve the implementations of the specified abstract types up front,
+     * so no classpath scan is needed during generation.
+     * 
+     * @param abstractBeanClasses the abstract classes or interfaces
+     * @return this instance for chaining
+     */
+    public FirstImplBeanGenerator prepare(Class<?>... abstractBeanClasses) {
+        return prepare(Arrays.asList(abstractBeanClasses));
+    }
+
+    /**
+     * Resolve the implementations of the specified abstract types up front,
+     * so no classpath scan is needed during generation.
+     * 
+     * @param abstractBeanClasses the abstract classes or interfaces
+     * @return this instance for chaining
+     */
+    public FirstImplBeanGenerator prepare(Iterable<? extends Class<?>> abstractBeanClasses) {
+        for (Class<?> abstractBeanClass : abstractBeanClasses) {
+            getImplementationClass(abstractBeanClass);
+        }
+        return this;
+    }
+
+    private Class<?> getImplementationClass(Class<?> abstractBeanClass) {
+        return implementations.computeIfAbsent(abstractBeanClass, this::getFirstImplementationClass);
+    }
+
+    private Class<?> getFirstImplementationClass(final Class<?> beanClass) {
+        String basePackage = beanClass.getPackage().getName();
+        if (!classIndex.isComplete(basePackage)) {
+            return scanFirstImplementationClass(beanClass);
+        }
+
+        for (ClassIndex.Entry implementation : classIndex.getImplementations(basePackage, beanClass)) {
+            Class<?> implementationClass = loadIndexedClass(implementation.getClassName());
+            if (implementationClass != null && beanClass.isAssignableFrom(implementationClass)) {
+                return implementationClass;
+            }
+        }
+        throw new IllegalStateException("Could not find an implementation class of " + beanClass.getName() + " in (sub)package.");
+    }
+
+    private static Class<?> loadIndexedClass(String className) {
+        try {
+            return ClassUtils.forName(className, ClassUtils.getDefaultClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Stale index entry, the class no longer exists
+            return null;
+        }
+    }
     
-    private static Class<?> getFirstImplementationClass(final Class<?> beanClass) {
+    private static Class<?> scanFirstImplementationClass(final Class<?> beanClass) {
         ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
         provider.addIncludeFilter(new AssignableTypeFilter(beanClass));
         provider.addExcludeFilter(new IsNotConcreteFilter());
         
-        Set<BeanDefinition> implementations = provider.findCandidateComponents(beanClass.getPackage().getName());
+        String basePackage = beanClass.getPackage().getName();
+        ClasspathScanEvent event = new ClasspathScanEvent();
+        event.begin();
+        Set<BeanDefinition> implementations = provider.findCandidateComponents(basePackage);
+        event.commit(basePackage, beanClass, implementations.size());
         if (implementations.isEmpty()) {
             throw new IllegalStateException("Could not find an implementation class of " + beanClass.getName() + " in (sub)package.");
         }
@@ -0,0 +1,29 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator;
+
+/**
+ * Value generator specialized for {@code long} values. The bean builder passes
+ * these values to primitive setters directly, without boxing.
+ */
+@FunctionalInterface
+public interface LongValueGenerator extends ValueGenerator {
+
+    /**
+     * Generate a new {@code long} value.
+     *
+     * @param type the type of value
+     * @return the generated value
+     */
+    long generateLong(Class<?> type);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default Object generate(Class<?> type) {
+        return Long.valueOf(generateLong(type));
+    }
+
+}
@@ -4,21 +4,45 @@
 package nl._42.beanie.generator;
 
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.target.SingletonTargetSource;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.objenesis.SpringObjenesis;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Creates a proxy of an interface that supports simple get and set behaviour.
+ * The proxy configuration is created once per bean class, after which each
+ * proxy only costs an instance allocation. Proxies are equal by identity,
+ * so separately generated beans are never equal.
  *
  * @author Jeroen van Schagen
  * @since Mar 26, 2015
  */
 public class ProxyBeanGenerator implements ValueGenerator {
-    
+
+    private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+
+    private final Map<Class<?>, ProxyTemplate> templates = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Object generate(Class<?> beanClass) {
+        return templates.computeIfAbsent(beanClass, ProxyBeanGenerator::createTemplate).newProxy();
+    }
+
+    private static ProxyTemplate createTemplate(Class<?> beanClass) {
         ProxyFactory proxyFactory = new ProxyFactory();
         proxyFactory.setTargetSource(new SingletonTargetSource(new EmptyTargetSource()));
         if (beanClass.isInterface()) {
@@ -26,7 +50,134 @@ public class ProxyBeanGenerator implements ValueGenerator {
         } else {
             proxyFactory.setTargetClass(beanClass);
         }
-        return proxyFactory.getProxy();
+
+        Object prototype = proxyFactory.getProxy();
+        if (Proxy.isProxyClass(prototype.getClass())) {
+            return new JdkProxyTemplate(prototype);
+        } else if (prototype instanceof Factory && OBJENESIS.isWorthTrying()) {
+            return new CglibProxyTemplate((Factory) prototype);
+        }
+        return proxyFactory::getProxy;
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return AopUtils.isEqualsMethod(method) || AopUtils.isHashCodeMethod(method);
+    }
+
+    private static Object invokeIdentity(Object proxy, Method method, Object[] args) {
+        if (AopUtils.isEqualsMethod(method)) {
+            return proxy == args[0];
+        }
+        return System.identityHashCode(proxy);
+    }
+
+    /**
+     * Creates new proxy instances of one bean class.
+     */
+    private interface ProxyTemplate {
+
+        Object newProxy();
+
+    }
+
+    /**
+     * Reuses the proxy class and configuration of a JDK dynamic proxy.
+     */
+    private static class JdkProxyTemplate implements ProxyTemplate {
+
+        private final Constructor<?> constructor;
+
+        private final InvocationHandler handler;
+
+        JdkProxyTemplate(Object prototype) {
+            try {
+                this.constructor = prototype.getClass().getConstructor(InvocationHandler.class);
+            } catch (NoSuchMethodException nsme) {
+                throw new IllegalStateException("Could not find proxy constructor of " + prototype.getClass(), nsme);
+            }
+            this.handler = new IdentityInvocationHandler(Proxy.getInvocationHandler(prototype));
+        }
+
+        @Override
+        public Object newProxy() {
+            try {
+                return constructor.newInstance(handler);
+            } catch (ReflectiveOperationException roe) {
+                throw new IllegalStateException("Could not create proxy of " + constructor.getDeclaringClass(), roe);
+            }
+        }
+
+    }
+
+    /**
+     * Handles equals and hash code by proxy identity, delegating all other methods.
+     */
+    private static class IdentityInvocationHandler implements InvocationHandler {
+
+        private final InvocationHandler delegate;
+
+        IdentityInvocationHandler(InvocationHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return invokeIdentity(proxy, method, args);
+            }
+            return delegate.invoke(proxy, method, args);
+        }
+
+    }
+
+    /**
+     * Reuses the proxy class and callbacks of a CGLIB proxy, creating
+     * new instances without invoking any constructor.
+     */
+    private static class CglibProxyTemplate implements ProxyTemplate {
+
+        private final Class<?> proxyClass;
+
+        private final Callback[] callbacks;
+
+        CglibProxyTemplate(Factory prototype) {
+            this.proxyClass = prototype.getClass();
+            this.callbacks = prototype.getCallbacks().clone();
+            for (int i = 0; i < callbacks.length; i++) {
+                if (callbacks[i] instanceof MethodInterceptor interceptor) {
+                    callbacks[i] = new IdentityMethodInterceptor(interceptor);
+                }
+            }
+        }
+
+        @Override
+        public Object newProxy() {
+            Factory proxy = (Factory) OBJENESIS.newInstance(proxyClass);
+            proxy.setCallbacks(callbacks);
+            return proxy;
+        }
+
+    }
+
+    /**
+     * Handles equals and hash code by proxy identity, delegating all other methods.
+     */
+    private static class IdentityMethodInterceptor implements MethodInterceptor {
+
+        private final MethodInterceptor delegate;
+
+        IdentityMethodInterceptor(MethodInterceptor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return invokeIdentity(proxy, method, args);
+            }
+            return delegate.intercept(proxy, method, args, methodProxy);
+        }
+
     }
 
     private static class EmptyTargetSource {
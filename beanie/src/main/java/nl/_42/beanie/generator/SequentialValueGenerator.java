@@ -3,9 +3,11 @@
  */
 package nl._42.beanie.generator;
 
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Returns the values in sequence.
+ * Returns the values in sequence. Thread-safe and lock-free,
+ * each value is returned once per cycle.
  *
  * @author Jeroen van Schagen
  * @since Apr 11, 2014
@@ -14,9 +16,9 @@ public class SequentialValueGenerator implements ValueGenerator {
     
     private final Object[] values;
     
-    private boolean repeatable = false;
+    private volatile boolean repeatable = false;
 
-    private int index = 0;
+    private final AtomicInteger index = new AtomicInteger();
     
     public SequentialValueGenerator(Object[] values) {
         this.values = values;
@@ -29,18 +31,34 @@ public class SequentialValueGenerator implements ValueGenerator {
 
     @Override
     public Object generate(Class<?> valueType) {
-        if (index >= values.length) {
-            if (repeatable) {
-                reset();
-            } else {
-                return null;
+        if (values.length == 0) {
+            return null;
+        }
+
+        if (repeatable) {
+            return values[nextCyclic()];
+        }
+
+        int current = index.getAndUpdate(value -> Math.min(value + 1, values.length));
+        if (current >= values.length) {
+            return null;
+        }
+        return values[current];
+    }
+
+    private int nextCyclic() {
+        while (true) {
+            int value = index.get();
+            int current = value >= values.length ? 0 : value;
+            int next = current + 1 >= values.length ? 0 : current + 1;
+            if (index.compareAndSet(value, next)) {
+                return current;
             }
         }
-        return values[index++];
     }
 
     public void reset() {
-        index = 0;
+        index.set(0);
     }
 
 }
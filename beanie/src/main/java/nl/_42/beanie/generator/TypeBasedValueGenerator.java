@@ -47,6 +47,16 @@ public class TypeBasedValueGenerator implements ValueGenerator {
         return generator.generate(type);
     }
 
+    /**
+     * Find the generator registered for a type, or for its first assignable type.
+     *
+     * @param type the type of value
+     * @return the generator, or {@code null} when none is registered
+     */
+    public ValueGenerator find(Class<?> type) {
+        return getSupportedGenerator(type);
+    }
+
     private ValueGenerator getSupportedGenerator(Class<?> type) {
     	ValueGenerator generator = generators.get(type);
     	if (generator == null) {
@@ -6,19 +6,36 @@ package nl._42.beanie.generator;
 import java.util.UUID;
 
 /**
- * Generates a random UUID string value.
+ * Generates a random UUID string value. By default from {@link UUID#randomUUID()},
+ * or any other UUID generator such as the faster
+ * {@link nl._42.beanie.generator.random.RandomUUIDGenerator}.
  *
  * @author Jeroen van Schagen
  * @since Jun 23, 2015
  */
 public class UUIDStringGenerator implements ValueGenerator {
+
+    private final ValueGenerator uuidGenerator;
+
+    public UUIDStringGenerator() {
+        this(type -> UUID.randomUUID());
+    }
+
+    /**
+     * Construct a new {@link UUIDStringGenerator}.
+     *
+     * @param uuidGenerator generates the UUID values
+     */
+    public UUIDStringGenerator(ValueGenerator uuidGenerator) {
+        this.uuidGenerator = uuidGenerator;
+    }
     
     /**
      * {@inheritDoc}
      */
     @Override
     public String generate(Class<?> type) {
-        return UUID.randomUUID().toString();
+        return uuidGenerator.generate(UUID.class).toString();
     }
     
 }
@@ -20,7 +20,7 @@ public class ShortestConstructorStrategy implements ConstructorStrategy {
     public Constructor<?> findConstructor(Class<?> beanClass) {
         Constructor<?> shortest = null;
         for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
-            if (shortest == null || shortest.getParameterTypes().length > constructor.getParameterTypes().length) {
+            if (shortest == null || shortest.getParameterCount() > constructor.getParameterCount()) {
                 shortest = constructor;
             }
         }
@@ -5,6 +5,8 @@ package nl._42.beanie.generator.increment;
 
 import nl._42.beanie.generator.ValueGenerator;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Value generator capable of incrementing itself. 
  *
@@ -13,19 +15,24 @@ import nl._42.beanie.generator.ValueGenerator;
  */
 public abstract class AbstractValueIncrementor<T> implements ValueGenerator {
     
-    private T current;
+    private final AtomicReference<T> current;
     
     public AbstractValueIncrementor(T initial) {
-        this.current = initial;
+        this.current = new AtomicReference<>(initial);
     }
     
     @Override
     public Object generate(Class<?> type) {
-        T result = current;
-        current = increment(current);
-        return result;
+        return current.getAndUpdate(this::increment);
     }
     
+    /**
+     * Calculate the next value. May be invoked multiple times under
+     * contention, so it should not have any side effects.
+     *
+     * @param current the current value
+     * @return the next value
+     */
     protected abstract T increment(T current);
 
 }
@@ -3,13 +3,16 @@
  */
 package nl._42.beanie.generator.increment;
 
+import nl._42.beanie.generator.IntValueGenerator;
+
 /**
  * Generates a larger integer value during each invocation.
+ * Thread-safe, each value is only generated once.
  *
  * @author Jeroen van Schagen
  * @since Apr 11, 2014
  */
-public class IntegerValueIncrementor extends AbstractValueIncrementor<Integer> {
+public class IntegerValueIncrementor extends AbstractValueIncrementor<Integer> implements IntValueGenerator {
 
     public IntegerValueIncrementor() {
         this(Integer.valueOf(1));
@@ -18,6 +21,11 @@ public class IntegerValueIncrementor extends AbstractValueIncrementor<Integer> {
     public IntegerValueIncrementor(Integer initial) {
         super(initial);
     }
+
+    @Override
+    public int generateInt(Class<?> type) {
+        return (Integer) generate(type);
+    }
     
     @Override
     protected Integer increment(Integer current) {
@@ -0,0 +1,79 @@
+/*
+ * (C) 2013 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.increment;
+
+import nl._42.beanie.generator.LongValueGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a larger long value during each invocation. Thread-safe,
+ * each value is only generated once.
+ * <p>
+ * Hot counters can be striped, in which case each thread reserves a block
+ * of values at once and hands them out without any contention. Values remain
+ * unique, but are no longer in order across threads and may leave gaps.
+ */
+public class LongValueIncrementor implements LongValueGenerator {
+
+    private final AtomicLong current;
+
+    private final int blockSize;
+
+    private final ThreadLocal<Block> blocks;
+
+    public LongValueIncrementor() {
+        this(1L);
+    }
+
+    public LongValueIncrementor(long initial) {
+        this(initial, 1);
+    }
+
+    private LongValueIncrementor(long initial, int blockSize) {
+        this.current = new AtomicLong(initial);
+        this.blockSize = blockSize;
+        this.blocks = blockSize > 1 ? ThreadLocal.withInitial(Block::new) : null;
+    }
+
+    /**
+     * Create a striped incrementor, where each thread reserves a block of values.
+     *
+     * @param initial the first value
+     * @param blockSize the number of values reserved per thread at once
+     * @return the striped incrementor
+     */
+    public static LongValueIncrementor striped(long initial, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size should be positive");
+        }
+        return new LongValueIncrementor(initial, blockSize);
+    }
+
+    @Override
+    public long generateLong(Class<?> type) {
+        if (blocks == null) {
+            return current.getAndIncrement();
+        }
+
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            block.next = current.getAndAdd(blockSize);
+            block.end = block.next + blockSize;
+        }
+        return block.next++;
+    }
+
+    /**
+     * Values reserved by a single thread.
+     */
+    private static class Block {
+
+        private long next;
+
+        private long end;
+
+    }
+
+}
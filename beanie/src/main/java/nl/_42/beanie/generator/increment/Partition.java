@@ -0,0 +1,158 @@
+/*
+ * (C) 2013 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.increment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Partition of the value space claimed by this JVM. Allows parallel JVMs,
+ * such as surefire forks, to generate values in disjoint ranges while
+ * seeding one shared database.
+ * <p>
+ * The partition is taken from the {@value #PROPERTY} system property, for
+ * example configured as <code>${surefire.forkNumber}</code>. Otherwise the
+ * first free lock file in a local directory is claimed. The partition holds
+ * this lock until it is closed, or otherwise until the JVM exits. Keep a claimed
+ * partition referenced for as long as its values are generated, as done by
+ * {@link PartitionedValueIncrementor} and the shared {@link #current()} partition.
+ */
+public final class Partition implements Closeable {
+
+    /**
+     * System property holding the partition index.
+     */
+    public static final String PROPERTY = "beanie.partition";
+
+    /**
+     * System property holding the lock directory.
+     */
+    public static final String DIRECTORY_PROPERTY = "beanie.partition.directory";
+
+    private static final int MAX_PARTITIONS = 1024;
+
+    private static volatile Partition current;
+
+    private final int index;
+
+    /**
+     * Lock on the claimed file, {@code null} for fixed partitions.
+     */
+    private final FileLock lock;
+
+    private Partition(int index, FileLock lock) {
+        this.index = index;
+        this.lock = lock;
+    }
+
+    /**
+     * Create a fixed partition.
+     *
+     * @param index the partition index, starting at zero
+     * @return the partition
+     */
+    public static Partition of(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Partition index should not be negative");
+        }
+        return new Partition(index, null);
+    }
+
+    /**
+     * Retrieve the partition of this JVM, resolved once from the system
+     * properties or otherwise by claiming a lock file.
+     *
+     * @return the partition
+     */
+    public static Partition current() {
+        Partition partition = current;
+        if (partition == null) {
+            synchronized (Partition.class) {
+                partition = current;
+                if (partition == null) {
+                    partition = detect();
+                    current = partition;
+                }
+            }
+        }
+        return partition;
+    }
+
+    private static Partition detect() {
+        String index = System.getProperty(PROPERTY);
+        if (index != null && !index.isBlank()) {
+            return of(Integer.parseInt(index.trim()));
+        }
+
+        String directory = System.getProperty(DIRECTORY_PROPERTY, System.getProperty("java.io.tmpdir"));
+        return lock(Paths.get(directory, "beanie-partitions"));
+    }
+
+    /**
+     * Claim the first free partition, by locking a file in the directory.
+     *
+     * @param directory the directory shared by all JVMs
+     * @return the claimed partition
+     */
+    public static Partition lock(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (int index = 0; index < MAX_PARTITIONS; index++) {
+                FileChannel channel = FileChannel.open(directory.resolve("partition-" + index + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = tryLock(channel);
+                if (lock != null) {
+                    return new Partition(index, lock);
+                }
+                channel.close();
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Could not claim partition in " + directory, ioe);
+        }
+        throw new IllegalStateException("All " + MAX_PARTITIONS + " partitions in " + directory + " are claimed");
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ofle) {
+            // Already claimed within this JVM
+            return null;
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Determine if this partition still holds its lock file. Fixed partitions
+     * hold no lock, and are always valid.
+     *
+     * @return whether the partition is valid
+     */
+    public boolean isValid() {
+        return lock == null || lock.isValid();
+    }
+
+    /**
+     * Release the claimed lock file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if (lock != null) {
+            try (FileChannel channel = lock.channel()) {
+                lock.release();
+            }
+        }
+    }
+
+}
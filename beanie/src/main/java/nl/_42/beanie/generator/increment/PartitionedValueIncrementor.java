@@ -0,0 +1,118 @@
+/*
+ * (C) 2013 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.increment;
+
+import nl._42.beanie.generator.IntValueGenerator;
+import nl._42.beanie.generator.LongValueGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a larger long value during each invocation, within the range
+ * reserved for a {@link Partition}. Parallel JVMs with different partitions
+ * never generate the same value. Thread-safe.
+ * <p>
+ * The incrementor keeps its partition, so a claimed lock file stays held
+ * for as long as the incrementor is in use.
+ * <p>
+ * Values are generated as {@code long}, or as {@code int} for int properties.
+ * The default range only fits in an int for the first partitions, so use
+ * {@link #forInt()} for int identifiers.
+ */
+public class PartitionedValueIncrementor implements LongValueGenerator, IntValueGenerator {
+
+    /**
+     * Default number of values reserved per partition.
+     */
+    public static final long DEFAULT_RANGE_SIZE = 1_000_000_000L;
+
+    /**
+     * Default number of values reserved per partition, when generating int values.
+     * Keeps all values of the first 2000 partitions within the int range.
+     */
+    public static final long DEFAULT_INT_RANGE_SIZE = 1_000_000L;
+
+    private final Partition partition;
+
+    private final AtomicLong current;
+
+    private final long end;
+
+    public PartitionedValueIncrementor() {
+        this(Partition.current());
+    }
+
+    public PartitionedValueIncrementor(Partition partition) {
+        this(partition, DEFAULT_RANGE_SIZE);
+    }
+
+    /**
+     * Construct a new {@link PartitionedValueIncrementor}, generating
+     * values starting at <code>index * rangeSize + 1</code>.
+     *
+     * @param partition the partition
+     * @param rangeSize the number of values reserved per partition
+     */
+    public PartitionedValueIncrementor(Partition partition, long rangeSize) {
+        if (rangeSize < 1) {
+            throw new IllegalArgumentException("Range size should be positive");
+        }
+        this.partition = partition;
+        long start = Math.addExact(Math.multiplyExact(partition.getIndex(), rangeSize), 1L);
+        this.current = new AtomicLong(start);
+        this.end = Math.addExact(start, rangeSize);
+    }
+
+    /**
+     * Create an incrementor for int values, reserving {@link #DEFAULT_INT_RANGE_SIZE}
+     * values for the partition of this JVM.
+     *
+     * @return the incrementor
+     */
+    public static PartitionedValueIncrementor forInt() {
+        return forInt(Partition.current());
+    }
+
+    /**
+     * Create an incrementor for int values, reserving {@link #DEFAULT_INT_RANGE_SIZE}
+     * values for the partition.
+     *
+     * @param partition the partition
+     * @return the incrementor
+     */
+    public static PartitionedValueIncrementor forInt(Partition partition) {
+        return new PartitionedValueIncrementor(partition, DEFAULT_INT_RANGE_SIZE);
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    @Override
+    public Object generate(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Integer.valueOf(generateInt(type));
+        }
+        return Long.valueOf(generateLong(type));
+    }
+
+    @Override
+    public int generateInt(Class<?> type) {
+        long value = generateLong(type);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Value " + value + " exceeds the int range, use PartitionedValueIncrementor.forInt()");
+        }
+        return (int) value;
+    }
+
+    @Override
+    public long generateLong(Class<?> type) {
+        long value = current.getAndIncrement();
+        if (value >= end) {
+            throw new IllegalStateException("Partition range exhausted, increase the range size");
+        }
+        return value;
+    }
+
+}
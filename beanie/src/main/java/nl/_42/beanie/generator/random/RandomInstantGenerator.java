@@ -0,0 +1,43 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import nl._42.beanie.generator.ValueGenerator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Generates a random instant, uniformly distributed between the minimum
+ * (inclusive) and maximum (exclusive), using a single random epoch second.
+ */
+public class RandomInstantGenerator extends RandomSupport implements ValueGenerator {
+
+    private final long minEpochSecond;
+
+    private final long maxEpochSecond;
+
+    public RandomInstantGenerator(Instant min, Instant max) {
+        this.minEpochSecond = min.getEpochSecond();
+        this.maxEpochSecond = max.getEpochSecond();
+        if (maxEpochSecond <= minEpochSecond) {
+            throw new IllegalArgumentException("Maximum instant " + max + " should be after minimum " + min);
+        }
+    }
+
+    public static RandomInstantGenerator forNextYears(int numberOfYears) {
+        LocalDate current = LocalDate.now(ZoneOffset.UTC);
+        return new RandomInstantGenerator(
+                current.atStartOfDay().toInstant(ZoneOffset.UTC),
+                current.plusYears(numberOfYears).atStartOfDay().toInstant(ZoneOffset.UTC)
+        );
+    }
+
+    @Override
+    public Instant generate(Class<?> type) {
+        return Instant.ofEpochSecond(random().nextLong(minEpochSecond, maxEpochSecond));
+    }
+
+}
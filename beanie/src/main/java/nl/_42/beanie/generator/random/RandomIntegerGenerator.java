@@ -3,7 +3,7 @@
  */
 package nl._42.beanie.generator.random;
 
-import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.generator.IntValueGenerator;
 
 
 /**
@@ -12,7 +12,7 @@ import nl._42.beanie.generator.ValueGenerator;
  * @author Sander Benschop
  * @since Feb 14, 2014
  */
-public class RandomIntegerGenerator extends RandomSupport implements ValueGenerator {
+public class RandomIntegerGenerator extends RandomSupport implements IntValueGenerator {
 
     private final int minimum;
     
@@ -25,6 +25,11 @@ public class RandomIntegerGenerator extends RandomSupport implements ValueGenera
     
     @Override
     public Integer generate(Class<?> type) {
+        return generateInt(type);
+    }
+
+    @Override
+    public int generateInt(Class<?> type) {
         return minimum + randomInt(maximum - minimum);
     }
 
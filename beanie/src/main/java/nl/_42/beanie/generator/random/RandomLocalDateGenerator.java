@@ -8,25 +8,24 @@ import nl._42.beanie.generator.ValueGenerator;
 import java.time.LocalDate;
 
 /**
- * 
+ * Generates a random date, uniformly distributed between the minimum
+ * and maximum (inclusive), using a single random epoch day.
  *
  * @author Jeroen van Schagen
  * @since Oct 14, 2014
  */
 public class RandomLocalDateGenerator extends RandomSupport implements ValueGenerator {
     
-    private final int FIRST_MONTH = 1;
-    private final int LAST_MONTH = 12;
+    private final long minEpochDay;
 
-    private final int FIRST_DAY = 1;
-    
-    private final LocalDate min;
-
-    private final LocalDate max;
+    private final long maxEpochDay;
 
     public RandomLocalDateGenerator(LocalDate min, LocalDate max) {
-        this.min = min;
-        this.max = max;
+        if (max.isBefore(min)) {
+            throw new IllegalArgumentException("Maximum date " + max + " is before minimum " + min);
+        }
+        this.minEpochDay = min.toEpochDay();
+        this.maxEpochDay = max.toEpochDay();
     }
     
     public static RandomLocalDateGenerator forNextYears(int numberOfYears) {
@@ -36,39 +35,7 @@ public class RandomLocalDateGenerator extends RandomSupport implements ValueGene
 
     @Override
     public LocalDate generate(Class<?> type) {
-        int year = randomInt(min.getYear(), max.getYear());
-        int month = randomMonth(year);
-        int dayOfMonth = randomDay(year, month);
-        return LocalDate.of(year, month, dayOfMonth);
-    }
-
-    private int randomMonth(int year) {
-        int minMonth = FIRST_MONTH;
-        int maxMonth = LAST_MONTH;
-        if (year == min.getYear()) {
-            minMonth = min.getMonthValue();
-        }
-        if (year == max.getYear()) {
-            maxMonth = max.getMonthValue();
-        }
-        return randomInt(minMonth, maxMonth);
-    }
-    
-    private int randomDay(int year, int month) {
-        int minDay = FIRST_DAY;
-        int maxDay = getNumberOfDays(year, month);
-        if (year == min.getYear() && month == min.getMonthValue()) {
-            minDay = min.getDayOfMonth();
-        }
-        if (year == max.getYear() && month == max.getMonthValue()) {
-            maxDay = max.getDayOfMonth();
-        }
-        return randomInt(minDay, maxDay);
-    }
-    
-    private int getNumberOfDays(int year, int month) {
-        LocalDate date = LocalDate.of(year, month, FIRST_DAY);
-        return date.getMonth().length(true);
+        return LocalDate.ofEpochDay(random().nextLong(minEpochDay, maxEpochDay + 1));
     }
 
 }
@@ -7,32 +7,43 @@ import nl._42.beanie.generator.ValueGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneOffset;
 
 /**
- * 
+ * Generates a random date time, uniformly distributed between the start of the
+ * minimum date and the end of the maximum date, using a single random epoch second.
  *
  * @author jeroen
  * @since Oct 14, 2014
  */
 public class RandomLocalDateTimeGenerator extends RandomSupport implements ValueGenerator {
 
-    private final RandomLocalTimeGenerator timeGenerator = new RandomLocalTimeGenerator();
+    private final long minEpochSecond;
 
-    private final LocalDate min;
-    
-    private final LocalDate max;
+    private final long maxEpochSecond;
     
     public RandomLocalDateTimeGenerator(LocalDate min, LocalDate max) {
-        this.min = min;
-        this.max = max;
+        this(min.atStartOfDay(), max.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Construct a new {@link RandomLocalDateTimeGenerator}.
+     *
+     * @param min the minimum date time (inclusive)
+     * @param max the maximum date time (exclusive)
+     */
+    public RandomLocalDateTimeGenerator(LocalDateTime min, LocalDateTime max) {
+        this.minEpochSecond = min.toEpochSecond(ZoneOffset.UTC);
+        this.maxEpochSecond = max.toEpochSecond(ZoneOffset.UTC);
+        if (maxEpochSecond <= minEpochSecond) {
+            throw new IllegalArgumentException("Maximum date time " + max + " should be after minimum " + min);
+        }
     }
     
     @Override
     public LocalDateTime generate(Class<?> type) {
-        LocalDate date = new RandomLocalDateGenerator(min, max).generate(type);
-        LocalTime time = timeGenerator.generate(type);
-        return LocalDateTime.of(date, time);
+        long epochSecond = random().nextLong(minEpochSecond, maxEpochSecond);
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
     }
     
 }
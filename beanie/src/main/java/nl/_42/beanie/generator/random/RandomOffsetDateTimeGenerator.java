@@ -0,0 +1,35 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import nl._42.beanie.generator.ValueGenerator;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Generates a random offset date time in a fixed offset, uniformly distributed
+ * between the start of the minimum date and the end of the maximum date.
+ */
+public class RandomOffsetDateTimeGenerator implements ValueGenerator {
+
+    private final RandomInstantGenerator instantGenerator;
+
+    private final ZoneOffset offset;
+
+    public RandomOffsetDateTimeGenerator(LocalDate min, LocalDate max, ZoneOffset offset) {
+        this.instantGenerator = new RandomInstantGenerator(
+                min.atStartOfDay().toInstant(offset),
+                max.plusDays(1).atStartOfDay().toInstant(offset)
+        );
+        this.offset = offset;
+    }
+
+    @Override
+    public OffsetDateTime generate(Class<?> type) {
+        return OffsetDateTime.ofInstant(instantGenerator.generate(type), offset);
+    }
+
+}
@@ -5,9 +5,15 @@ package nl._42.beanie.generator.random;
 
 import nl._42.beanie.generator.ValueGenerator;
 
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
 /**
  * Generates a random string within the specified length range
  * and using only the specified letters.
+ * <p>
+ * When all letters are Latin-1, strings are filled as bytes from a lookup
+ * table, taking multiple letters from each random 64-bit word.
  *
  * @author Sander Benschop
  * @since Feb 14, 2014
@@ -19,6 +25,18 @@ public class RandomStringGenerator extends RandomSupport implements ValueGenerat
     private final RandomIntegerGenerator lengthGenerator;
     
     private final String letters;
+
+    /**
+     * Lookup table of our letters, or {@code null} when not all letters are Latin-1.
+     */
+    private final byte[] table;
+
+    /**
+     * Number of random bits consumed per letter.
+     */
+    private final int bits;
+
+    private final long mask;
     
     public RandomStringGenerator(int maximum) {
         this(Math.min(maximum, 1), maximum);
@@ -31,16 +49,99 @@ public class RandomStringGenerator extends RandomSupport implements ValueGenerat
     public RandomStringGenerator(int minimum, int maximum, String letters) {
         this.lengthGenerator = new RandomIntegerGenerator(minimum, maximum);
         this.letters = letters;
+        this.table = toLatin1(letters);
+        this.bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(letters.length() - 1));
+        this.mask = (1L << bits) - 1;
+    }
+
+    private static byte[] toLatin1(String letters) {
+        byte[] table = new byte[letters.length()];
+        for (int index = 0; index < letters.length(); index++) {
+            char letter = letters.charAt(index);
+            if (letter > 0xFF) {
+                return null;
+            }
+            table[index] = (byte) letter;
+        }
+        return table;
     }
     
     @Override
     public Object generate(Class<?> type) {
-        int length = lengthGenerator.generate(null);
+        int length = lengthGenerator.generateInt(null);
         return randomString(length);
     }
     
     public String randomString(int length) {
-        StringBuilder result = new StringBuilder();
+        if (table == null) {
+            return randomChars(length);
+        }
+
+        byte[] result = new byte[length];
+        fill(result, 0, length);
+        return new String(result, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Generate multiple random strings at once, each with a random length.
+     * All strings are filled from one shared buffer.
+     *
+     * @param count the number of strings
+     * @return the generated strings
+     */
+    public String[] randomStrings(int count) {
+        String[] results = new String[count];
+        if (table == null) {
+            for (int index = 0; index < count; index++) {
+                results[index] = randomChars(lengthGenerator.generateInt(null));
+            }
+            return results;
+        }
+
+        int[] lengths = new int[count];
+        int total = 0;
+        for (int index = 0; index < count; index++) {
+            lengths[index] = lengthGenerator.generateInt(null);
+            total = Math.addExact(total, lengths[index]);
+        }
+
+        byte[] buffer = new byte[total];
+        fill(buffer, 0, total);
+
+        int offset = 0;
+        for (int index = 0; index < count; index++) {
+            results[index] = new String(buffer, offset, lengths[index], StandardCharsets.ISO_8859_1);
+            offset += lengths[index];
+        }
+        return results;
+    }
+
+    /**
+     * Fill the buffer with random letters, taking as many letters from each random
+     * word as fit. Indexes outside of our table are rejected to remain uniform.
+     */
+    private void fill(byte[] buffer, int offset, int length) {
+        if (length > 0 && table.length == 0) {
+            throw new IllegalStateException("No letters to generate from");
+        }
+
+        RandomGenerator random = random();
+        int end = offset + length;
+        int position = offset;
+        while (position < end) {
+            long word = random.nextLong();
+            for (int remaining = Long.SIZE / bits; remaining > 0 && position < end; remaining--) {
+                int index = (int) (word & mask);
+                if (index < table.length) {
+                    buffer[position++] = table[index];
+                }
+                word >>>= bits;
+            }
+        }
+    }
+
+    private String randomChars(int length) {
+        StringBuilder result = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
             result.append(randomCharOf(letters));
         }
@@ -4,20 +4,74 @@
 package nl._42.beanie.generator.random;
 
 import java.math.BigDecimal;
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Support class for generating random values. 
+ * <p>
+ * Random numbers are drawn from a pluggable {@link RandomGenerator} strategy,
+ * shared by all random generators. By default each thread uses its own
+ * {@link ThreadLocalRandom}, so generation scales without contention. Use
+ * {@link #useSeed(long)} for reproducible runs.
  *
  * @author Jeroen van Schagen
  * @since Feb 14, 2014
  */
-abstract class RandomSupport {
-    
-    private static final Random RANDOM = new Random();
+public abstract class RandomSupport {
+
+    private static final Supplier<RandomGenerator> THREAD_LOCAL = ThreadLocalRandom::current;
+
+    private static volatile Supplier<RandomGenerator> strategy = THREAD_LOCAL;
+
+    /**
+     * Use a custom strategy to retrieve the random generator. The strategy is
+     * invoked on each random value, so it should be cheap and thread-safe.
+     *
+     * @param strategy the random generator strategy
+     */
+    public static void useStrategy(Supplier<RandomGenerator> strategy) {
+        RandomSupport.strategy = Objects.requireNonNull(strategy, "Strategy is required");
+    }
+
+    /**
+     * Generate reproducible values, starting from the seed. Each thread receives
+     * its own {@link SplittableRandom}, split from a seeded root in order of
+     * first use. Single threaded runs will thus always generate the same values.
+     *
+     * @param seed the seed
+     */
+    public static void useSeed(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        ThreadLocal<RandomGenerator> generators = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        useStrategy(generators::get);
+    }
+
+    /**
+     * Restore the default, thread local, random generator.
+     */
+    public static void useDefault() {
+        useStrategy(THREAD_LOCAL);
+    }
+
+    /**
+     * Retrieve the random generator of the current strategy.
+     *
+     * @return the random generator
+     */
+    protected RandomGenerator random() {
+        return strategy.get();
+    }
     
     public int randomInt(int n) {
-        return RANDOM.nextInt(n);
+        return random().nextInt(n);
     }
     
     public boolean randomBoolean(double d) {
@@ -37,7 +91,7 @@ abstract class RandomSupport {
     }
     
     public double randomDouble() {
-        return RANDOM.nextDouble();
+        return random().nextDouble();
     }
     
     public double randomDouble(double maximum) {
@@ -0,0 +1,26 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import nl._42.beanie.generator.ValueGenerator;
+
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random (version 4) UUIDs from the thread-local random generator,
+ * rather than {@link java.security.SecureRandom}. Much faster, but not
+ * suitable for security sensitive identifiers.
+ */
+public class RandomUUIDGenerator extends RandomSupport implements ValueGenerator {
+
+    @Override
+    public UUID generate(Class<?> type) {
+        RandomGenerator random = random();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import nl._42.beanie.generator.ValueGenerator;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Generates a random zoned date time, uniformly distributed between
+ * the start of the minimum date and the end of the maximum date.
+ */
+public class RandomZonedDateTimeGenerator implements ValueGenerator {
+
+    private final RandomInstantGenerator instantGenerator;
+
+    private final ZoneId zone;
+
+    public RandomZonedDateTimeGenerator(LocalDate min, LocalDate max, ZoneId zone) {
+        this.instantGenerator = new RandomInstantGenerator(
+                min.atStartOfDay(zone).toInstant(),
+                max.plusDays(1).atStartOfDay(zone).toInstant()
+        );
+        this.zone = zone;
+    }
+
+    @Override
+    public ZonedDateTime generate(Class<?> type) {
+        return ZonedDateTime.ofInstant(instantGenerator.generate(type), zone);
+    }
+
+}
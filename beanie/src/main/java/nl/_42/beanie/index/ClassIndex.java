@@ -0,0 +1,269 @@
+package nl._42.beanie.index;
+
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the types in our project, written at build time by the
+ * <code>beanie-index</code> annotation processor. Allows us to find
+ * beans and implementations without scanning the classpath.
+ * <p>
+ * Each line describes one type, formatted as
+ * <code>className;kind;superType,superType</code>.
+ * <p>
+ * An index file only covers the classpath root it was found in. A package is
+ * therefore only complete when each root containing that package has an index,
+ * otherwise callers should fall back to scanning the classpath.
+ * <p>
+ * Types are listed alphabetically on class name, which is not necessarily the
+ * order of a classpath scan. Entries may also be stale, when a class was removed
+ * after the index was written, so callers should skip classes that cannot be loaded.
+ */
+public class ClassIndex {
+
+    /**
+     * Default location of the index files.
+     */
+    public static final String LOCATION = "META-INF/beanie.idx";
+
+    private static volatile ClassIndex defaultIndex;
+
+    private final Map<String, Entry> entries;
+
+    private final ClassLoader classLoader;
+
+    /**
+     * Classpath roots that contain an index file.
+     */
+    private final Set<String> roots;
+
+    private final Map<String, Boolean> completePackages = new ConcurrentHashMap<>();
+
+    ClassIndex(Map<String, Entry> entries, ClassLoader classLoader, Set<String> roots) {
+        this.entries = entries;
+        this.classLoader = classLoader;
+        this.roots = roots;
+    }
+
+    /**
+     * Retrieve the index on the default class loader.
+     * The index is only read once.
+     *
+     * @return the class index, empty when no index is present
+     */
+    public static ClassIndex getDefault() {
+        ClassIndex index = defaultIndex;
+        if (index == null) {
+            index = load(ClassUtils.getDefaultClassLoader());
+            defaultIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Read the index files from the default location.
+     *
+     * @param classLoader the class loader
+     * @return the class index, empty when no index is present
+     */
+    public static ClassIndex load(ClassLoader classLoader) {
+        return load(classLoader, LOCATION);
+    }
+
+    /**
+     * Read all index files, at the specified location, into one index.
+     *
+     * @param classLoader the class loader
+     * @param location the resource location of our index files
+     * @return the class index, empty when no index is present
+     */
+    public static ClassIndex load(ClassLoader classLoader, String location) {
+        Map<String, Entry> entries = new TreeMap<>();
+        Set<String> roots = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(location);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                read(url, entries);
+                String path = url.toString();
+                roots.add(path.substring(0, path.length() - location.length()));
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Could not read class index from " + location, ioe);
+        }
+        return new ClassIndex(entries, classLoader, roots);
+    }
+
+    private static void read(URL url, Map<String, Entry> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    Entry entry = Entry.parse(line);
+                    entries.put(entry.getClassName(), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine if the index contains no types.
+     *
+     * @return {@code true} when empty, else {@code false}
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Determine if the index covers all types in the package, meaning each
+     * classpath root that contains the package also has an index file.
+     *
+     * @param basePackage the base package
+     * @return {@code true} when the index can replace a classpath scan, else {@code false}
+     */
+    public boolean isComplete(String basePackage) {
+        return completePackages.computeIfAbsent(basePackage, this::resolveComplete);
+    }
+
+    private boolean resolveComplete(String basePackage) {
+        if (basePackage.isEmpty() || getTypes(basePackage).isEmpty()) {
+            return false;
+        }
+
+        try {
+            Enumeration<URL> urls = classLoader.getResources(basePackage.replace('.', '/') + "/");
+            while (urls.hasMoreElements()) {
+                if (!isIndexed(urls.nextElement())) {
+                    return false;
+                }
+            }
+        } catch (IOException ioe) {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isIndexed(URL url) {
+        String path = url.toString();
+        for (String root : roots) {
+            if (path.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieve all indexed types declared in the package, or child packages.
+     *
+     * @param basePackage the base package
+     * @return the indexed types, sorted on class name
+     */
+    public List<Entry> getTypes(String basePackage) {
+        List<Entry> types = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isInPackage(basePackage)) {
+                types.add(entry);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Retrieve all concrete implementations of a type, declared
+     * in the package, or child packages.
+     *
+     * @param basePackage the base package
+     * @param type the abstract class or interface
+     * @return the implementations, sorted on class name
+     */
+    public List<Entry> getImplementations(String basePackage, Class<?> type) {
+        List<Entry> implementations = new ArrayList<>();
+        for (Entry entry : getTypes(basePackage)) {
+            if (entry.isConcrete() && entry.getSuperTypes().contains(type.getName())) {
+                implementations.add(entry);
+            }
+        }
+        return implementations;
+    }
+
+    /**
+     * Kind of indexed type.
+     */
+    public enum Kind {
+        CLASS, ABSTRACT, INTERFACE
+    }
+
+    /**
+     * Indexed type.
+     */
+    public static final class Entry {
+
+        private final String className;
+
+        private final Kind kind;
+
+        private final Set<String> superTypes;
+
+        Entry(String className, Kind kind, Set<String> superTypes) {
+            this.className = className;
+            this.kind = kind;
+            this.superTypes = superTypes;
+        }
+
+        static Entry parse(String line) {
+            String[] parts = line.split(";", -1);
+            if (parts.length != 3) {
+                throw new IllegalStateException("Invalid class index entry: " + line);
+            }
+
+            Set<String> superTypes = parts[2].isEmpty() ?
+                    Collections.emptySet() : new LinkedHashSet<>(Arrays.asList(parts[2].split(",")));
+            return new Entry(parts[0], Kind.valueOf(parts[1]), superTypes);
+        }
+
+        private boolean isInPackage(String basePackage) {
+            return basePackage.isEmpty() || className.startsWith(basePackage + ".");
+        }
+
+        /**
+         * Determine if the type can be instantiated.
+         *
+         * @return {@code true} when concrete, else {@code false}
+         */
+        public boolean isConcrete() {
+            return kind == Kind.CLASS;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Set<String> getSuperTypes() {
+            return superTypes;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package nl._42.beanie.index;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.type.classreading.MetadataReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Candidate component provider that reads the candidates from our {@link ClassIndex},
+ * falling back to a classpath scan when the package is not completely indexed.
+ */
+public class IndexedCandidateComponentProvider extends ClassPathScanningCandidateComponentProvider {
+
+    private final ClassIndex classIndex;
+
+    public IndexedCandidateComponentProvider() {
+        this(ClassIndex.getDefault());
+    }
+
+    public IndexedCandidateComponentProvider(ClassIndex classIndex) {
+        super(false);
+        this.classIndex = classIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+        if (!classIndex.isComplete(basePackage)) {
+            return super.findCandidateComponents(basePackage);
+        }
+
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        for (ClassIndex.Entry type : classIndex.getTypes(basePackage)) {
+            if (type.isConcrete()) {
+                addIfCandidate(type.getClassName(), candidates);
+            }
+        }
+        return candidates;
+    }
+
+    private void addIfCandidate(String className, Set<BeanDefinition> candidates) {
+        try {
+            MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(className);
+            if (isCandidateComponent(metadataReader)) {
+                ScannedGenericBeanDefinition definition = new ScannedGenericBeanDefinition(metadataReader);
+                definition.setSource(metadataReader.getResource());
+                if (isCandidateComponent(definition)) {
+                    candidates.add(definition);
+                }
+            }
+        } catch (FileNotFoundException fnfe) {
+            // Stale index entry, the class no longer exists
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Could not read metadata of indexed class: " + className, ioe);
+        }
+    }
+
+}
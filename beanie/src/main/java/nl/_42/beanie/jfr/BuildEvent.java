@@ -0,0 +1,38 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a constructed bean, including its nested beans.
+ */
+@Name("beanie.Build")
+@Label("Bean Build")
+@Category("Beanie")
+@Description("Construction of a bean by the bean builder")
+@StackTrace(false)
+public final class BuildEvent extends Event {
+
+    @Label("Bean Class")
+    String beanClass;
+
+    /**
+     * Commit the event, when recorded.
+     *
+     * @param beanClass the bean class
+     */
+    public void commit(Class<?> beanClass) {
+        if (shouldCommit()) {
+            this.beanClass = beanClass.getName();
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a classpath scan, which is often the most
+ * expensive part of generating abstract types or verifying beans.
+ */
+@Name("beanie.ClasspathScan")
+@Label("Classpath Scan")
+@Category("Beanie")
+@Description("Classpath scan for candidate bean classes")
+public final class ClasspathScanEvent extends Event {
+
+    @Label("Base Package")
+    String basePackage;
+
+    @Label("Type")
+    String type;
+
+    @Label("Candidates")
+    int candidates;
+
+    /**
+     * Commit the event, when recorded.
+     *
+     * @param basePackage the scanned package
+     * @param type the assignable type, if any
+     * @param candidates the number of candidates found
+     */
+    public void commit(String basePackage, Class<?> type, int candidates) {
+        if (shouldCommit()) {
+            this.basePackage = basePackage;
+            this.type = type != null ? type.getName() : null;
+            this.candidates = candidates;
+            commit();
+        }
+    }
+
+}
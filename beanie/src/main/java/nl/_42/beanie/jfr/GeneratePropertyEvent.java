@@ -0,0 +1,48 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a generated property value.
+ */
+@Name("beanie.GenerateProperty")
+@Label("Generate Property")
+@Category("Beanie")
+@Description("Generation of a property value by the bean builder")
+@StackTrace(false)
+public final class GeneratePropertyEvent extends Event {
+
+    @Label("Bean Class")
+    String beanClass;
+
+    @Label("Property")
+    String propertyName;
+
+    @Label("Generator")
+    String generator;
+
+    /**
+     * Commit the event, when recorded.
+     *
+     * @param beanClass the bean class
+     * @param propertyName the property name
+     * @param generator the generator used
+     */
+    public void commit(Class<?> beanClass, String propertyName, Object generator) {
+        if (shouldCommit()) {
+            this.beanClass = beanClass.getName();
+            this.propertyName = propertyName;
+            this.generator = generator.getClass().getName();
+            commit();
+        }
+    }
+
+}
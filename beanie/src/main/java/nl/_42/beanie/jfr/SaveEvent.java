@@ -0,0 +1,48 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a saved or deleted bean.
+ */
+@Name("beanie.Save")
+@Label("Bean Save")
+@Category("Beanie")
+@Description("Persistence of a bean by a bean saver")
+@StackTrace(false)
+public final class SaveEvent extends Event {
+
+    @Label("Bean Class")
+    String beanClass;
+
+    @Label("Saver")
+    String saver;
+
+    @Label("Delete")
+    boolean delete;
+
+    /**
+     * Commit the event, when recorded.
+     *
+     * @param bean the saved or deleted bean
+     * @param saver the bean saver
+     * @param delete whether the bean was deleted
+     */
+    public void commit(Object bean, Object saver, boolean delete) {
+        if (shouldCommit()) {
+            this.beanClass = bean != null ? bean.getClass().getName() : null;
+            this.saver = saver.getClass().getName();
+            this.delete = delete;
+            commit();
+        }
+    }
+
+}
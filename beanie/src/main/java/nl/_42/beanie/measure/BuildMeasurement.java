@@ -0,0 +1,142 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.measure;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Measured cost of building a bean graph.
+ *
+ * @param <T> the bean type
+ * @see BuildMeter
+ */
+public final class BuildMeasurement<T> {
+
+    private final T bean;
+
+    private final long objects;
+
+    private final int depth;
+
+    private final long shallowBytes;
+
+    private final long allocatedBytes;
+
+    private final long nanos;
+
+    private final Map<Class<?>, Total> totals;
+
+    BuildMeasurement(T bean, long objects, int depth, long shallowBytes, long allocatedBytes, long nanos, Map<Class<?>, Total> totals) {
+        this.bean = bean;
+        this.objects = objects;
+        this.depth = depth;
+        this.shallowBytes = shallowBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.nanos = nanos;
+        this.totals = Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * @return the built bean
+     */
+    public T getBean() {
+        return bean;
+    }
+
+    /**
+     * @return the number of built beans, their property values and the contents of their arrays and collections
+     */
+    public long getObjects() {
+        return objects;
+    }
+
+    /**
+     * Retrieve the depth of the graph, being the longest chain of nested
+     * beans below the built bean. A bean without nested beans has depth zero.
+     *
+     * @return the depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the estimated shallow size of all counted objects, in bytes
+     */
+    public long getShallowBytes() {
+        return shallowBytes;
+    }
+
+    /**
+     * Retrieve the bytes allocated by the building thread, including temporary
+     * objects of the builder itself.
+     *
+     * @return the allocated bytes, or {@code -1} when not supported by the JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the elapsed nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the number of objects and shallow bytes per type
+     */
+    public Map<Class<?>, Total> getTotals() {
+        return totals;
+    }
+
+    /**
+     * Render the measurement with its totals, largest types first.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%d objects, depth %d, %d shallow bytes, %d allocated bytes, %d µs",
+                objects, depth, shallowBytes, allocatedBytes, nanos / 1000));
+        totals.entrySet().stream()
+              .sorted(Map.Entry.<Class<?>, Total>comparingByValue(Comparator.comparingLong(Total::getBytes)).reversed())
+              .forEach(entry -> result.append(System.lineSeparator())
+                                      .append("  ").append(entry.getKey().getName())
+                                      .append(": ").append(entry.getValue()));
+        return result.toString();
+    }
+
+    /**
+     * Number of objects and shallow bytes of a single type.
+     */
+    public static final class Total {
+
+        private long count;
+
+        private long bytes;
+
+        void add(long size) {
+            count++;
+            bytes += size;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return count + " objects, " + bytes + " bytes";
+        }
+
+    }
+
+}
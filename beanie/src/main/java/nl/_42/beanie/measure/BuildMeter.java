@@ -0,0 +1,127 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.measure;
+
+import nl._42.beanie.BeanBuildListener;
+import nl._42.beanie.BeanBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of building beans: the number of objects created, the
+ * depth of the graph, the estimated shallow size and the bytes allocated
+ * by the building thread, with totals per type. Only the beans reported as
+ * built by our bean builder are looked into, together with their arrays and
+ * collections. Allows fixtures that silently allocate megabytes to be caught
+ * in tests:
+ * <pre>
+ * BuildMeasurement&lt;Order&gt; measurement = new BuildMeter(beanBuilder).measure(Order.class);
+ * assertTrue(measurement.getObjects() &lt; 500, measurement.toString());
+ * </pre>
+ */
+public class BuildMeter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final BeanBuilder beanBuilder;
+
+    private final ShallowSizeEstimator estimator;
+
+    private final Map<Class<?>, Field[]> references = ObjectGraph.newReferenceCache();
+
+    public BuildMeter(BeanBuilder beanBuilder) {
+        this(beanBuilder, new ShallowSizeEstimator());
+    }
+
+    public BuildMeter(BeanBuilder beanBuilder, ShallowSizeEstimator estimator) {
+        this.beanBuilder = beanBuilder;
+        this.estimator = estimator;
+    }
+
+    /**
+     * Measure <code>start(beanClass).fill().construct()</code>.
+     *
+     * @param <T> the bean type
+     * @param beanClass the bean class
+     * @return the measurement
+     */
+    public <T> BuildMeasurement<T> measure(Class<T> beanClass) {
+        return measure(() -> beanBuilder.start(beanClass).fill().construct());
+    }
+
+    /**
+     * Measure building a bean on the current thread.
+     *
+     * @param <T> the bean type
+     * @param build builds the bean
+     * @return the measurement
+     */
+    public <T> BuildMeasurement<T> measure(Supplier<T> build) {
+        BuiltBeans built = new BuiltBeans(Thread.currentThread());
+        beanBuilder.addListener(built);
+
+        long allocatedBefore;
+        long allocatedAfter;
+        long nanos;
+        T bean;
+        try {
+            allocatedBefore = getAllocatedBytes();
+            long start = System.nanoTime();
+            bean = build.get();
+            nanos = System.nanoTime() - start;
+            allocatedAfter = getAllocatedBytes();
+        } finally {
+            beanBuilder.removeListener(built);
+        }
+
+        long allocated = allocatedBefore >= 0 && allocatedAfter >= 0 ? allocatedAfter - allocatedBefore : -1;
+        ObjectGraph graph = new ObjectGraph(estimator, references, built.beans);
+        if (bean != null) {
+            graph.walk(bean);
+        }
+        return new BuildMeasurement<>(bean, graph.getObjects(), graph.getDepth(), graph.getBytes(), allocated, nanos, graph.getTotals());
+    }
+
+    /**
+     * Retrieve the bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes, or {@code -1} when not supported
+     */
+    static long getAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Collects the beans built on the measuring thread.
+     */
+    private static class BuiltBeans implements BeanBuildListener {
+
+        private final Thread thread;
+
+        private final Set<Object> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        BuiltBeans(Thread thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public void onBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+            if (bean != null && Thread.currentThread() == thread) {
+                beans.add(bean);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.measure;
+
+import nl._42.beanie.measure.BuildMeasurement.Total;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Walks the objects of a built bean graph, iteratively so deep graphs
+ * cannot overflow the stack. Fields are only read from the beans that were
+ * built, together with the contents of arrays, collections and maps. Any
+ * other object is measured, but not looked into, so references to proxies,
+ * sessions or other infrastructure are never followed. Enums and classes
+ * are shared and therefore not counted.
+ */
+final class ObjectGraph {
+
+    private static final Field[] NO_FIELDS = new Field[0];
+
+    private final ShallowSizeEstimator estimator;
+
+    private final Map<Class<?>, Field[]> references;
+
+    /**
+     * Beans that were built, compared by identity.
+     */
+    private final Set<Object> beans;
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Map<Class<?>, Total> totals = new LinkedHashMap<>();
+
+    private long objects;
+
+    private long bytes;
+
+    private int depth;
+
+    ObjectGraph(ShallowSizeEstimator estimator, Map<Class<?>, Field[]> references, Set<Object> beans) {
+        this.estimator = estimator;
+        this.references = references;
+        this.beans = beans;
+    }
+
+    static Map<Class<?>, Field[]> newReferenceCache() {
+        return new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Walk the graph of a bean, which is always looked into.
+     *
+     * @param root the bean
+     */
+    void walk(Object root) {
+        beans.add(root);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(new Node(root, 0));
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            Object value = node.value;
+            if (!visited.add(value)) {
+                continue;
+            }
+
+            long size = estimator.estimate(value);
+            totals.computeIfAbsent(value.getClass(), type -> new Total()).add(size);
+            objects++;
+            bytes += size;
+            depth = Math.max(depth, node.depth);
+
+            for (Object child : getChildren(value)) {
+                if (child != null) {
+                    push(pending, child, beans.contains(child) ? node.depth + 1 : node.depth);
+                }
+            }
+        }
+    }
+
+    private static void push(Deque<Node> pending, Object value, int depth) {
+        if (!(value instanceof Enum<?>) && !(value instanceof Class<?>)) {
+            pending.push(new Node(value, depth));
+        }
+    }
+
+    private List<Object> getChildren(Object value) {
+        Class<?> type = value.getClass();
+        List<Object> children = new ArrayList<>();
+        if (value instanceof Object[] array) {
+            children.addAll(Arrays.asList(array));
+        } else if (value instanceof Collection<?> collection) {
+            children.addAll(collection);
+        } else if (value instanceof Map<?, ?> map) {
+            children.addAll(map.keySet());
+            children.addAll(map.values());
+        } else if (beans.contains(value)) {
+            for (Field field : references.computeIfAbsent(type, ObjectGraph::getReferenceFields)) {
+                children.add(ReflectionUtils.getField(field, value));
+            }
+        }
+        return children;
+    }
+
+    private static Field[] getReferenceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && !current.getModule().isNamed(); current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                    try {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.add(field);
+                    } catch (RuntimeException rte) {
+                        // Skip fields we are not allowed to read
+                    }
+                }
+            }
+        }
+        return fields.toArray(NO_FIELDS);
+    }
+
+    long getObjects() {
+        return objects;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    Map<Class<?>, Total> getTotals() {
+        return totals;
+    }
+
+    private record Node(Object value, int depth) {
+    }
+
+}
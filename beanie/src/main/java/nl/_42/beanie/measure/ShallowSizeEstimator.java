@@ -0,0 +1,84 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.measure;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the shallow size of objects, being the memory occupied by the
+ * object itself excluding everything it references. Assumes a 64-bit JVM
+ * with compressed references, which is the default for heaps below 32 GB.
+ * Field packing is not taken into account, sizes are an approximation.
+ */
+public class ShallowSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int REFERENCE = 4;
+
+    private static final int ALIGNMENT = 8;
+
+    private final Map<Class<?>, Long> instanceSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Estimate the shallow size of an object.
+     *
+     * @param object the object
+     * @return the estimated size in bytes
+     */
+    public long estimate(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            long elementSize = sizeOf(type.getComponentType());
+            return align(ARRAY_HEADER + elementSize * Array.getLength(object));
+        }
+        return estimate(type);
+    }
+
+    /**
+     * Estimate the shallow size of an instance of a class.
+     *
+     * @param type the class, not an array
+     * @return the estimated size in bytes
+     */
+    public long estimate(Class<?> type) {
+        return instanceSizes.computeIfAbsent(type, ShallowSizeEstimator::calculate);
+    }
+
+    private static long calculate(Class<?> type) {
+        long size = OBJECT_HEADER;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += sizeOf(field.getType());
+                }
+            }
+        }
+        return align(size);
+    }
+
+    private static long sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+}
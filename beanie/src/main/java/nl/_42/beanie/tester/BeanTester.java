@@ -1,28 +1,42 @@
 package nl._42.beanie.tester;
 
 import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.generator.ValueGenerator;
+import nl._42.beanie.index.IndexedCandidateComponentProvider;
+import nl._42.beanie.jfr.ClasspathScanEvent;
+import nl._42.beanie.tester.BeanVerificationPlan.PropertyPlan;
 import nl._42.beanie.tester.strategy.ObjectEqualizer;
 import nl._42.beanie.tester.strategy.SimpleObjectEqualizer;
 import nl._42.beanie.util.Classes;
 import nl._42.beanie.util.PropertyReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
 
-import java.beans.PropertyDescriptor;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 /**
  * Verifies the getter and setter methods of beans. The retrieved
  * value should be semantically equal to the initially set value.
+ * <p>
+ * Getters and setters are resolved only once per bean class. The
+ * generated sample values are cached per property type and shared
+ * between beans, thus setters should not modify these values.
  * 
  * @author Jeroen van Schagen
  */
@@ -30,7 +44,16 @@ public class BeanTester {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BeanTester.class);
 
+    /**
+     * System property that, when {@code true}, disables the incremental mode.
+     */
+    public static final String FORCE_FULL_VERIFICATION_PROPERTY = "beanie.tester.full";
+
     private final Set<PropertyReference> excludedProperties = new HashSet<PropertyReference>();
+
+    private final Map<Class<?>, BeanVerificationPlan> plans = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Object> sampleValues = new ConcurrentHashMap<>();
     
     private final ClassPathScanningCandidateComponentProvider provider;
 
@@ -40,6 +63,12 @@ public class BeanTester {
 
     private boolean inherit = true;
 
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private VerificationCache cache;
+
+    private boolean forceFullVerification = Boolean.getBoolean(FORCE_FULL_VERIFICATION_PROPERTY);
+
     public BeanTester() {
         this(new BeanBuilder());
     }
@@ -49,7 +78,7 @@ public class BeanTester {
     }
 
     public BeanTester(BeanBuilder beanBuilder, ObjectEqualizer equalizer) {
-        this.provider = new ClassPathScanningCandidateComponentProvider(false);
+        this.provider = new IndexedCandidateComponentProvider();
         this.beanBuilder = beanBuilder;
         this.equalizer = equalizer;
         
@@ -70,19 +99,96 @@ public class BeanTester {
 
     /**
      * Verify the getter and setters of each bean classes, declared in
-     * the specified package, or child packages.
+     * the specified package, or child packages. Bean classes are read
+     * from the class index, when available, or scanned on the classpath.
      * 
      * @param basePackage the base package to search for beans
      * @return the number of verified beans
      */
     public int verifyBeans(String basePackage) {
-        Set<BeanDefinition> beanDefinitions = provider.findCandidateComponents(basePackage);
+        Set<BeanDefinition> beanDefinitions = findBeans(basePackage);
+        try {
+            for (BeanDefinition beanDefinition : beanDefinitions) {
+                verifyIfChanged(Classes.forName(beanDefinition.getBeanClassName()));
+            }
+        } finally {
+            saveCache();
+        }
+        return beanDefinitions.size();
+    }
+
+    /**
+     * Verify the getter and setters of each bean classes, declared in
+     * the same package, or child packages, as the specified class.
+     * Beans are verified concurrently on the configured executor,
+     * which requires thread-safe generators.
+     * 
+     * @param basePackageClass the base package class
+     * @return the number of verified beans
+     * @see #executor(Executor)
+     * @see #verifyBeansParallel(String)
+     */
+    public int verifyBeansParallel(Class<?> basePackageClass) {
+        return verifyBeansParallel(basePackageClass.getPackage().getName());
+    }
+
+    /**
+     * Verify the getter and setters of each bean classes, declared in
+     * the specified package, or child packages. Beans are verified
+     * concurrently on the configured executor. All failures are
+     * collected and reported as one {@link AssertionError}, with each
+     * failure added as suppressed exception.
+     * <p>
+     * Each bean is generated on its own thread, so our bean builder and all
+     * generators registered on it must be thread-safe. The default generators
+     * are, but custom generators with mutable state, such as a plain counter,
+     * should either be made thread-safe or be verified with {@link #verifyBeans(String)}.
+     * Do not register generators while verifying.
+     * 
+     * @param basePackage the base package to search for beans
+     * @return the number of verified beans
+     * @see #executor(Executor)
+     */
+    public int verifyBeansParallel(String basePackage) {
+        Set<BeanDefinition> beanDefinitions = findBeans(basePackage);
+
+        List<CompletableFuture<Integer>> verifications = new ArrayList<>(beanDefinitions.size());
         for (BeanDefinition beanDefinition : beanDefinitions) {
-            verifyBean(Classes.forName(beanDefinition.getBeanClassName()));
+            Class<?> beanClass = Classes.forName(beanDefinition.getBeanClassName());
+            verifications.add(CompletableFuture.supplyAsync(() -> verifyIfChanged(beanClass), executor));
         }
+
+        int properties = 0;
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<Integer> verification : verifications) {
+            try {
+                properties += verification.join();
+            } catch (CompletionException ce) {
+                failures.add(ce.getCause());
+            }
+        }
+        saveCache();
+
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(String.format(
+                    "%d of %d beans failed verification, %d properties verified successfully.",
+                    failures.size(), beanDefinitions.size(), properties));
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+
+        LOGGER.info("Verified {} beans and {} properties in package: {}", beanDefinitions.size(), properties, basePackage);
         return beanDefinitions.size();
     }
 
+    private Set<BeanDefinition> findBeans(String basePackage) {
+        ClasspathScanEvent event = new ClasspathScanEvent();
+        event.begin();
+        Set<BeanDefinition> beanDefinitions = provider.findCandidateComponents(basePackage);
+        event.commit(basePackage, null, beanDefinitions.size());
+        return beanDefinitions;
+    }
+
     /**
      * Verify the getter and setters of the specified bean.
      * 
@@ -90,47 +196,86 @@ public class BeanTester {
      * @throws InconsistentGetterAndSetterException whenever an inconsistency was found
      */
     public void verifyBean(Class<?> beanClass) {
+        verify(beanClass);
+    }
+
+    private int verifyIfChanged(Class<?> beanClass) {
+        if (cache == null) {
+            return verify(beanClass);
+        }
+
+        String hash = cache.hashOf(beanClass, describeConfiguration(beanClass));
+        if (!forceFullVerification && cache.isVerified(beanClass, hash)) {
+            LOGGER.debug("Skipping unchanged bean: " + beanClass.getName());
+            return 0;
+        }
+
+        int properties = verify(beanClass);
+        cache.markVerified(beanClass, hash);
+        return properties;
+    }
+
+    /**
+     * Describe everything that affects the verification of a bean, besides its
+     * bytecode: our equalizer, inheritance, the excluded properties and the
+     * generator type of each property.
+     */
+    private String describeConfiguration(Class<?> beanClass) {
+        StringBuilder configuration = new StringBuilder(equalizer.getClass().getName()).append(';').append(inherit);
+        for (PropertyPlan property : getPlan(beanClass).getProperties()) {
+            PropertyReference reference = property.getReference();
+            configuration.append(';').append(property.getName()).append('=');
+            if (excludedProperties.contains(reference)) {
+                configuration.append("excluded");
+            } else {
+                ValueGenerator generator = beanBuilder.getGenerator(beanClass, property.getName(), property.getType());
+                configuration.append(generator.getClass().getName());
+            }
+        }
+        return configuration.toString();
+    }
+
+    private void saveCache() {
+        if (cache != null) {
+            cache.save();
+        }
+    }
+
+    private int verify(Class<?> beanClass) {
         LOGGER.debug("Verifying bean: " + beanClass.getName());
 
         try {
-            final BeanWrapper beanWrapper = newBeanWrapper(beanClass);
-            verifyAllProperties(beanClass, beanWrapper);
+            final BeanVerificationPlan plan = getPlan(beanClass);
+            return verifyAllProperties(plan, beanBuilder.generate(beanClass));
         } catch (RuntimeException rte) {
             throw new AssertionError("Could not verify bean: " + beanClass.getSimpleName(), rte);
         }
     }
 
-    private void verifyAllProperties(final Class<?> beanClass, final BeanWrapper beanWrapper) {
-        for (PropertyDescriptor propertyDescriptor : beanWrapper.getPropertyDescriptors()) {
-            if (isPropertyToVerify(beanClass, propertyDescriptor)) {
-                verifyProperty(beanWrapper, propertyDescriptor);
+    private int verifyAllProperties(final BeanVerificationPlan plan, final Object bean) {
+        int verified = 0;
+        for (PropertyPlan property : plan.getProperties()) {
+            if (isPropertyToVerify(plan.getBeanClass(), property)) {
+                verifyProperty(bean, property);
+                verified++;
             }
         }
+        return verified;
     }
 
-    private BeanWrapper newBeanWrapper(Class<?> beanClass) {
-        Object bean = beanBuilder.generate(beanClass);
-        return new BeanWrapperImpl(bean);
+    private BeanVerificationPlan getPlan(Class<?> beanClass) {
+        return plans.computeIfAbsent(beanClass, BeanVerificationPlan::compile);
     }
 
-    private boolean isPropertyToVerify(Class<?> beanClass, PropertyDescriptor propertyDescriptor) {
-        boolean verify = false;
-        if (propertyDescriptor.getReadMethod() != null && propertyDescriptor.getWriteMethod() != null) {
-        	Class<?> declaringClass = propertyDescriptor.getWriteMethod().getDeclaringClass();
-            verify = isDeclaredInBean(beanClass, declaringClass) && isNotExcluded(declaringClass, propertyDescriptor.getName());
-        }
-        return verify;
+    private boolean isPropertyToVerify(Class<?> beanClass, PropertyPlan property) {
+        PropertyReference reference = property.getReference();
+        return isDeclaredInBean(beanClass, reference.getDeclaringClass()) && !excludedProperties.contains(reference);
     }
 
 	private boolean isDeclaredInBean(Class<?> beanClass, Class<?> declaringClass) {
 		return inherit || declaringClass.equals(beanClass);
 	}
 
-    private boolean isNotExcluded(Class<?> declaringClass, String propertyName) {
-        PropertyReference propertyReference = new PropertyReference(declaringClass, propertyName);
-        return !excludedProperties.contains(propertyReference);
-    }
-
     /**
      * Verify the getter and setter of a property.
      * 
@@ -138,43 +283,55 @@ public class BeanTester {
      * @param propertyName the property name
      */
     public void verifyProperty(Class<?> beanClass, String propertyName) {
-        BeanWrapper beanWrapper = newBeanWrapper(beanClass);
-        verifyProperty(beanWrapper, beanWrapper.getPropertyDescriptor(propertyName));
+        PropertyPlan property = getPlan(beanClass).getProperty(propertyName);
+        verifyProperty(beanBuilder.generate(beanClass), property);
     }
 
-    private void verifyProperty(BeanWrapper beanWrapper, PropertyDescriptor propertyDescriptor) {
-        final String propertyName = propertyDescriptor.getName();
-        final Class<?> propertyType = propertyDescriptor.getPropertyType();
+    private void verifyProperty(Object bean, PropertyPlan property) {
+        final Class<?> propertyType = property.getType();
         
-        LOGGER.debug("Verifying property '" + propertyName + "' of bean: " + beanWrapper.getWrappedClass().getName());
+        LOGGER.debug("Verifying property '" + property.getName() + "' of bean: " + bean.getClass().getName());
 
         // Check with null value
         if (!propertyType.isPrimitive()) {
-            verifyPropertyWithValue(beanWrapper, propertyName, null);
+            verifyPropertyWithValue(bean, property, null);
         }
         
         // Check with not-null value
-        Object generatedValue = beanBuilder.generate(propertyType);
-        verifyPropertyWithValue(beanWrapper, propertyName, generatedValue);
+        Object sampleValue = getSampleValue(propertyType);
+        verifyPropertyWithValue(bean, property, sampleValue);
+    }
+
+    private Object getSampleValue(Class<?> propertyType) {
+        Object sampleValue = sampleValues.get(propertyType);
+        if (sampleValue == null) {
+            sampleValue = beanBuilder.generate(propertyType);
+            if (sampleValue != null) {
+                sampleValues.putIfAbsent(propertyType, sampleValue);
+            }
+        }
+        return sampleValue;
     }
     
-    private void verifyPropertyWithValue(BeanWrapper beanWrapper, String propertyName, Object value) {
+    private void verifyPropertyWithValue(Object bean, PropertyPlan property, Object value) {
         Object result;
 
         try {
-            beanWrapper.setPropertyValue(propertyName, value);
-            result = beanWrapper.getPropertyValue(propertyName);
-        } catch (RuntimeException rte) {
+            property.setValue(bean, value);
+            result = property.getValue(bean);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
             String message = String.format(
                     "Property '%s' of '%s' has an unusable getter and/or setter.",
-                    propertyName, beanWrapper.getWrappedClass().getName());
-            throw new IllegalStateException(message, rte);
+                    property.getName(), bean.getClass().getName());
+            throw new IllegalStateException(message, t);
         }
         
         if (!equalizer.isEqual(value, result)) {
             String message = String.format(
                     "Property '%s' of '%s' returned a different value than initially set (original: %s, actual: %s).",
-                    propertyName, beanWrapper.getWrappedClass().getName(), value, result);
+                    property.getName(), bean.getClass().getName(), value, result);
             throw new InconsistentGetterAndSetterException(message);
         }
     }
@@ -265,4 +422,46 @@ public class BeanTester {
         return this;
     }
 
+    /**
+     * Only verify the beans that changed since their last successful verification.
+     * Changes are detected by the hash of the bytecode of each bean class and its
+     * superclasses, stored in the specified cache file. The hash also covers our
+     * equalizer, excluded properties and the generator type of each property, so
+     * a change in configuration verifies the affected beans again. Changing only the
+     * value of a registered constant is not detected, use a full verification instead.
+     * 
+     * @param cacheFile the file to store the hashes of verified beans
+     * @return this instance for chaining
+     * @see #forceFullVerification(boolean)
+     */
+    public BeanTester incremental(Path cacheFile) {
+        this.cache = VerificationCache.load(cacheFile);
+        return this;
+    }
+
+    /**
+     * If we should verify all beans, even in incremental mode. Defaults to the
+     * value of the {@value #FORCE_FULL_VERIFICATION_PROPERTY} system property.
+     * Successfully verified beans are still stored in the cache.
+     * 
+     * @param forceFullVerification to verify all beans
+     * @return this instance for chaining
+     */
+    public BeanTester forceFullVerification(boolean forceFullVerification) {
+        this.forceFullVerification = forceFullVerification;
+        return this;
+    }
+
+    /**
+     * Change the executor used to verify beans in parallel.
+     * By default we use the common fork join pool.
+     * 
+     * @param executor the executor
+     * @return this instance for chaining
+     */
+    public BeanTester executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
 }
@@ -0,0 +1,130 @@
+package nl._42.beanie.tester;
+
+import nl._42.beanie.util.PropertyReference;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verification plan of a bean class, compiled once per class. Holds the
+ * getter and setter of each property as direct method handles, so we
+ * can verify beans without introspection or type conversion.
+ */
+final class BeanVerificationPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    private final Map<String, PropertyPlan> properties;
+
+    private BeanVerificationPlan(Class<?> beanClass, Map<String, PropertyPlan> properties) {
+        this.beanClass = beanClass;
+        this.properties = properties;
+    }
+
+    /**
+     * Compile the plan of a bean, including each property with both a getter and setter.
+     *
+     * @param beanClass the bean class
+     * @return the compiled plan
+     */
+    static BeanVerificationPlan compile(Class<?> beanClass) {
+        Map<String, PropertyPlan> properties = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(beanClass)) {
+            if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null) {
+                properties.put(descriptor.getName(), new PropertyPlan(descriptor));
+            }
+        }
+        return new BeanVerificationPlan(beanClass, properties);
+    }
+
+    Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    Collection<PropertyPlan> getProperties() {
+        return properties.values();
+    }
+
+    PropertyPlan getProperty(String propertyName) {
+        PropertyPlan property = properties.get(propertyName);
+        if (property == null) {
+            throw new IllegalArgumentException(
+                String.format("Property '%s' of '%s' has no getter and setter.", propertyName, beanClass.getName())
+            );
+        }
+        return property;
+    }
+
+    /**
+     * Getter and setter of a single property.
+     */
+    static final class PropertyPlan {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final PropertyReference reference;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private PropertyPlan(PropertyDescriptor descriptor) {
+            Method writeMethod = descriptor.getWriteMethod();
+            this.name = descriptor.getName();
+            this.type = descriptor.getPropertyType();
+            this.reference = new PropertyReference(writeMethod.getDeclaringClass(), name);
+            this.getter = unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE);
+            this.setter = unreflect(writeMethod).asType(SETTER_TYPE);
+        }
+
+        private static MethodHandle unreflect(Method method) {
+            try {
+                ReflectionUtils.makeAccessible(method);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException("Could not access method: " + method, e);
+            }
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Retrieve the reference to this property, on the class that declares the setter.
+         *
+         * @return the property reference
+         */
+        PropertyReference getReference() {
+            return reference;
+        }
+
+        void setValue(Object bean, Object value) throws Throwable {
+            setter.invokeExact(bean, value);
+        }
+
+        Object getValue(Object bean) throws Throwable {
+            return (Object) getter.invokeExact(bean);
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package nl._42.beanie.tester;
+
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which bean classes were verified successfully, by the hash of their
+ * bytecode, the bytecode of their superclasses and the configuration they were
+ * verified with. Stored as properties file, without the entries of classes that
+ * changed or no longer exist.
+ */
+final class VerificationCache {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final Path file;
+
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    private VerificationCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the cache from its file, starting empty when the file does not exist.
+     *
+     * @param file the cache file
+     * @return the loaded cache
+     */
+    static VerificationCache load(Path file) {
+        VerificationCache cache = new VerificationCache(file);
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException ioe) {
+                throw new IllegalStateException("Could not read verification cache: " + file, ioe);
+            }
+            properties.forEach((className, hash) -> cache.hashes.put((String) className, (String) hash));
+        }
+        return cache;
+    }
+
+    /**
+     * Calculate the hash of a bean class, including all superclasses
+     * that are not loaded by the bootstrap class loader.
+     *
+     * @param beanClass the bean class
+     * @param configuration description of the configuration the bean is verified with
+     * @return the hash, or {@code null} when the bytecode could not be read
+     */
+    String hashOf(Class<?> beanClass, String configuration) {
+        MessageDigest digest = newDigest();
+        digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+        for (Class<?> current = beanClass; current != null && current.getClassLoader() != null; current = current.getSuperclass()) {
+            try (InputStream stream = current.getResourceAsStream(ClassUtils.getClassFileName(current))) {
+                if (stream == null) {
+                    return null;
+                }
+                digest.update(stream.readAllBytes());
+            } catch (IOException ioe) {
+                return null;
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(ALGORITHM + " is not supported", nsae);
+        }
+    }
+
+    /**
+     * Determine if the bean class was already verified with this hash.
+     *
+     * @param beanClass the bean class
+     * @param hash the current hash
+     * @return {@code true} when verified, else {@code false}
+     */
+    boolean isVerified(Class<?> beanClass, String hash) {
+        String verified = hashes.get(beanClass.getName());
+        if (verified == null) {
+            return false;
+        } else if (hash != null && hash.equals(verified)) {
+            return true;
+        }
+        // Changed since the last verification
+        hashes.remove(beanClass.getName(), verified);
+        return false;
+    }
+
+    /**
+     * Remember the bean class was verified with this hash.
+     *
+     * @param beanClass the bean class
+     * @param hash the current hash
+     */
+    void markVerified(Class<?> beanClass, String hash) {
+        if (hash != null) {
+            hashes.put(beanClass.getName(), hash);
+        }
+    }
+
+    /**
+     * Write the cache to its file, skipping classes that no longer exist.
+     */
+    void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : new TreeMap<>(hashes).entrySet()) {
+                    if (!ClassUtils.isPresent(entry.getKey(), ClassUtils.getDefaultClassLoader())) {
+                        continue;
+                    }
+                    writer.write(entry.getKey() + "=" + entry.getValue());
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Could not write verification cache: " + file, ioe);
+        }
+    }
+
+}
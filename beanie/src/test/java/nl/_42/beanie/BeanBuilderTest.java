@@ -3,25 +3,46 @@ package nl._42.beanie;
 import io.beanmapper.BeanMapper;
 import io.beanmapper.config.BeanMapperBuilder;
 import nl._42.beanie.convert.BeanMapperConverter;
+import nl._42.beanie.domain.ImmutableBean;
 import nl._42.beanie.domain.NestedBean;
 import nl._42.beanie.domain.NestedBeanWithConstructor;
+import nl._42.beanie.domain.PrimitiveBean;
 import nl._42.beanie.domain.SimpleBean;
 import nl._42.beanie.domain.SimpleBeanResult;
+import nl._42.beanie.domain.SimpleRecord;
 import nl._42.beanie.domain.SomeAbstract;
 import nl._42.beanie.domain.SomeImplementation;
 import nl._42.beanie.domain.SomeInterface;
 import nl._42.beanie.generator.BeanGenerator;
 import nl._42.beanie.generator.ConstantValueGenerator;
+import nl._42.beanie.generator.DoubleValueGenerator;
 import nl._42.beanie.generator.FirstImplBeanGenerator;
+import nl._42.beanie.generator.IntValueGenerator;
+import nl._42.beanie.generator.LongValueGenerator;
+import nl._42.beanie.generator.ValueGenerator;
 import nl._42.beanie.generator.random.RandomStringGenerator;
 import nl._42.beanie.generator.supported.AnnotationSupportable;
+import nl._42.beanie.save.BeanSaver;
 import nl._42.beanie.save.UnsupportedBeanSaver;
+import nl._42.beanie.support.CyclicBean;
+import nl._42.beanie.support.LinkedRecord;
+import nl._42.beanie.support.TaggedRecord;
+import nl._42.beanie.support.TreeBean;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.internal.util.collections.Sets;
+import org.springframework.beans.InvalidPropertyException;
 
+import java.beans.PropertyDescriptor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class BeanBuilderTest {
 
@@ -116,6 +137,37 @@ public class BeanBuilderTest {
         Assertions.assertNotNull(bean.getNestedBeanWithConstructor());
     }
 
+    @Test
+    public void testBuildWithNestedPath() {
+        SimpleBean bean = beanBuilder.start(SimpleBean.class)
+                .withValue("nestedBean", new NestedBean())
+                .generateValue("nestedBean.value", new ConstantValueGenerator("success"))
+                .construct();
+
+        Assertions.assertEquals("success", bean.getNestedBean().getValue());
+    }
+
+    @Test
+    public void testBuildWithGeneratedNestedPath() {
+        beanBuilder.registerValue(SimpleBean.class, "value", "success");
+
+        SimpleBean bean = beanBuilder.start(SimpleBean.class)
+                .generateValue("nestedBean.value")
+                .fill()
+                .construct();
+
+        Assertions.assertEquals("success", bean.getNestedBean().getValue());
+    }
+
+    @Test
+    public void testBuildWithUnknownNestedPath() {
+        EditableBeanBuildCommand<SimpleBean> command = beanBuilder.start(SimpleBean.class)
+                .withValue("nestedBean", new NestedBean())
+                .generateValue("nestedBean.unknown");
+
+        Assertions.assertThrows(InvalidPropertyException.class, command::construct);
+    }
+
     @Test
     public void testBuildWithDefaultBuilderAndExistingBean() {
         SimpleBean base = new SimpleBean();
@@ -308,6 +360,386 @@ public class BeanBuilderTest {
         Assertions.assertEquals("abc", bean.getName());
     }
 
+    @Test
+    public void testStartFromTemplate() {
+        SimpleBean template = new SimpleBean();
+        template.setName("template");
+
+        SimpleBean bean = beanBuilder.start(template)
+                .fill()
+                .construct();
+
+        Assertions.assertSame(template, bean);
+        Assertions.assertEquals("template", bean.getName());
+        Assertions.assertNotNull(bean.getShortName());
+        Assertions.assertNotNull(bean.getNestedBean());
+    }
+
+    @Test
+    public void testWithValueConverted() {
+        SimpleBean bean = beanBuilder.start(SimpleBean.class)
+                .withValue("id", "42")
+                .withValue("hobbies", "coding")
+                .construct();
+
+        Assertions.assertEquals(Long.valueOf(42), bean.getId());
+        Assertions.assertEquals(Collections.singleton("coding"), bean.getHobbies());
+    }
+
+    @Test
+    public void testGeneratePrimitives() {
+        beanBuilder.register(int.class, new IntValueGenerator() {
+
+            @Override
+            public int generateInt(Class<?> type) {
+                return 42;
+            }
+
+            @Override
+            public Object generate(Class<?> type) {
+                throw new UnsupportedOperationException("Should not box");
+            }
+
+        });
+        beanBuilder.register(long.class, (LongValueGenerator) type -> 7L);
+        beanBuilder.register(double.class, (DoubleValueGenerator) type -> 1.5);
+
+        PrimitiveBean bean = beanBuilder.generateSafely(PrimitiveBean.class);
+        Assertions.assertEquals(42, bean.getCount());
+        Assertions.assertEquals(7L, bean.getNumber());
+        Assertions.assertEquals(1.5, bean.getAmount());
+    }
+
+    @Test
+    public void testGeneratePrimitiveValueHook() {
+        BeanBuilder hookedBuilder = new BeanBuilder() {
+
+            @Override
+            protected Object generateValue(Class<?> beanClass, PropertyDescriptor descriptor) {
+                if ("count".equals(descriptor.getName())) {
+                    return 42;
+                }
+                return super.generateValue(beanClass, descriptor);
+            }
+
+        };
+
+        PrimitiveBean bean = hookedBuilder.generateSafely(PrimitiveBean.class);
+        Assertions.assertEquals(42, bean.getCount());
+    }
+
+    // Records and immutable classes
+
+    @Test
+    public void testGenerateRecord() {
+        SimpleRecord record = beanBuilder.generateSafely(SimpleRecord.class);
+        Assertions.assertNotNull(record.name());
+        Assertions.assertNotNull(record.nestedBean());
+        Assertions.assertNotNull(record.nestedBean().getValue());
+    }
+
+    @Test
+    public void testRecordWithValue() {
+        SimpleRecord record = beanBuilder.start(SimpleRecord.class)
+                .withValue("name", "success")
+                .withValue("count", 42)
+                .construct();
+
+        Assertions.assertEquals("success", record.name());
+        Assertions.assertEquals(42, record.count());
+        Assertions.assertNull(record.nestedBean());
+    }
+
+    @Test
+    public void testRecordFromTemplate() {
+        SimpleRecord record = beanBuilder.start(new SimpleRecord("template", 1, null))
+                .withValue("count", 2)
+                .fill()
+                .construct();
+
+        Assertions.assertEquals("template", record.name());
+        Assertions.assertEquals(2, record.count());
+        Assertions.assertNotNull(record.nestedBean());
+    }
+
+    @Test
+    public void testRecordUnknownProperty() {
+        EditableBeanBuildCommand<SimpleRecord> command = beanBuilder.start(SimpleRecord.class);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> command.withValue("unknown", "value"));
+    }
+
+    @Test
+    public void testRecordWithCollectionValue() {
+        TaggedRecord record = beanBuilder.start(new TaggedRecord("template", List.of("a")))
+                .withValue("tags", "b")
+                .withValue("tags", Arrays.asList("c", "d"))
+                .construct();
+
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), record.tags());
+    }
+
+    @Test
+    public void testGenerateImmutable() {
+        beanBuilder.registerImmutable(ImmutableBean.class);
+
+        ImmutableBean bean = beanBuilder.start(ImmutableBean.class)
+                .withValue("number", 42L)
+                .fill()
+                .construct();
+
+        Assertions.assertNotNull(bean.getName());
+        Assertions.assertEquals(42L, bean.getNumber());
+    }
+
+    @Test
+    public void testGenerateUnregisteredImmutable() {
+        ImmutableBean bean = beanBuilder.start(ImmutableBean.class)
+                .withValue("number", 42L)
+                .fill()
+                .construct();
+
+        Assertions.assertNotNull(bean.getName());
+        Assertions.assertEquals(42L, bean.getNumber());
+        Assertions.assertNull(beanBuilder.getConstructorPlan(ImmutableBean.class));
+    }
+
+    @Test
+    public void testRegisterMutableAsImmutable() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> beanBuilder.registerImmutable(SimpleBean.class));
+    }
+
+    // Explain
+
+    @Test
+    public void testExplain() {
+        beanBuilder.skip(SimpleBean.class, "shortName");
+
+        BeanExplanation explanation = beanBuilder.explain(SimpleBean.class);
+        Assertions.assertEquals(SimpleBean.class, explanation.getBeanClass());
+        Assertions.assertEquals(1, explanation.getMaxDepth());
+        Assertions.assertFalse(explanation.isCyclic());
+
+        Map<String, BeanExplanation.Property> properties = new HashMap<>();
+        explanation.getProperties().forEach(property -> properties.put(property.getName(), property));
+        Assertions.assertEquals(BeanExplanation.Source.TYPE, properties.get("name").getSource());
+        Assertions.assertEquals(BeanExplanation.Source.SUPPORTABLE, properties.get("annotated").getSource());
+        Assertions.assertEquals(BeanExplanation.Status.SKIPPED, properties.get("shortName").getStatus());
+
+        BeanExplanation.Property nestedBean = properties.get("nestedBean");
+        Assertions.assertEquals(BeanExplanation.Source.NESTED_BEAN, nestedBean.getSource());
+        Assertions.assertEquals(0, nestedBean.getNested().getMaxDepth());
+        Assertions.assertEquals("value", nestedBean.getNested().getProperties().get(0).getName());
+        Assertions.assertTrue(explanation.toString().contains("nestedBean: NestedBean GENERATED by NESTED_BEAN"));
+    }
+
+    @Test
+    public void testExplainCycle() {
+        BeanExplanation explanation = beanBuilder.explain(CyclicBean.class);
+        Assertions.assertTrue(explanation.isCyclic());
+        Assertions.assertTrue(explanation.getProperties().get(1).isCyclic());
+        Assertions.assertSame(explanation, explanation.getProperties().get(1).getNested());
+        Assertions.assertEquals(BeanBuilder.DEFAULT_MAX_DEPTH, explanation.getMaxDepth());
+        Assertions.assertEquals(2 * (BeanBuilder.DEFAULT_MAX_DEPTH + 1), explanation.getEstimatedObjects());
+
+        beanBuilder.setReuseInstances(true);
+        explanation = beanBuilder.explain(CyclicBean.class);
+        Assertions.assertEquals(0, explanation.getMaxDepth());
+        Assertions.assertEquals(2, explanation.getEstimatedObjects());
+    }
+
+    @Test
+    public void testExplainBinarySelfReference() {
+        BeanExplanation explanation = beanBuilder.explain(TreeBean.class);
+        Assertions.assertEquals((2 << BeanBuilder.DEFAULT_MAX_DEPTH) - 1, explanation.getEstimatedObjects());
+        Assertions.assertEquals(sizeOf(beanBuilder.generateSafely(TreeBean.class)), explanation.getEstimatedObjects());
+    }
+
+    @Test
+    public void testExplainWithoutResolvingGenerators() {
+        beanBuilder.explain(SimpleBean.class);
+        Assertions.assertEquals(0, beanBuilder.getGeneratorCacheHits());
+        Assertions.assertEquals(0, beanBuilder.getGeneratorCacheMisses());
+    }
+
+    // Graphs
+
+    @Test
+    public void testMaxDepth() {
+        beanBuilder.setMaxDepth(3);
+        CyclicBean bean = beanBuilder.generateSafely(CyclicBean.class);
+        Assertions.assertEquals(3, depthOf(bean));
+        Assertions.assertNotNull(bean.getParent().getParent().getParent().getName());
+    }
+
+    @Test
+    public void testMaxDepthOnlyLimitsCycles() {
+        beanBuilder.setMaxDepth(0);
+        SimpleBean bean = beanBuilder.generateSafely(SimpleBean.class);
+        Assertions.assertNotNull(bean.getNestedBean());
+        Assertions.assertNotNull(bean.getNestedBean().getValue());
+    }
+
+    @Test
+    public void testDeepGraphWithoutRecursion() {
+        beanBuilder.setMaxDepth(20_000);
+        CyclicBean bean = beanBuilder.generateSafely(CyclicBean.class);
+        Assertions.assertEquals(20_000, depthOf(bean));
+    }
+
+    @Test
+    public void testReuseInstances() {
+        beanBuilder.setReuseInstances(true);
+        CyclicBean bean = beanBuilder.generateSafely(CyclicBean.class);
+        Assertions.assertSame(bean, bean.getParent());
+
+        CyclicBean other = beanBuilder.generateSafely(CyclicBean.class);
+        Assertions.assertNotSame(bean, other);
+    }
+
+    @Test
+    public void testRecursiveRecord() {
+        beanBuilder.setMaxDepth(2);
+        LinkedRecord record = beanBuilder.generateSafely(LinkedRecord.class);
+        Assertions.assertNotNull(record.next().next());
+        Assertions.assertNull(record.next().next().next());
+    }
+
+    @Test
+    public void testBinarySelfReference() {
+        TreeBean tree = beanBuilder.generateSafely(TreeBean.class);
+        Assertions.assertEquals((2 << BeanBuilder.DEFAULT_MAX_DEPTH) - 1, sizeOf(tree));
+
+        beanBuilder.setReuseInstances(true);
+        tree = beanBuilder.generateSafely(TreeBean.class);
+        Assertions.assertSame(tree, tree.getLeft());
+        Assertions.assertSame(tree, tree.getRight());
+    }
+
+    @Test
+    public void testGenerateValueHook() {
+        BeanBuilder hookedBuilder = new BeanBuilder() {
+
+            @Override
+            protected Object generateValue(Class<?> beanClass, String propertyName, Class<?> propertyType) {
+                if (beanClass == NestedBean.class) {
+                    return "hooked";
+                }
+                return super.generateValue(beanClass, propertyName, propertyType);
+            }
+
+        };
+
+        SimpleBean bean = hookedBuilder.generateSafely(SimpleBean.class);
+        Assertions.assertEquals("hooked", bean.getNestedBean().getValue());
+    }
+
+    private static int sizeOf(TreeBean tree) {
+        int size = 0;
+        Deque<TreeBean> remaining = new ArrayDeque<>();
+        remaining.push(tree);
+        while (!remaining.isEmpty()) {
+            TreeBean current = remaining.pop();
+            size++;
+            if (current.getLeft() != null) {
+                remaining.push(current.getLeft());
+            }
+            if (current.getRight() != null) {
+                remaining.push(current.getRight());
+            }
+        }
+        return size;
+    }
+
+    private static int depthOf(CyclicBean bean) {
+        int depth = 0;
+        while (bean.getParent() != null) {
+            bean = bean.getParent();
+            depth++;
+        }
+        return depth;
+    }
+
+    // Listeners
+
+    @Test
+    public void testListener() {
+        List<String> events = new ArrayList<>();
+        beanBuilder.addListener(new BeanBuildListener() {
+
+            @Override
+            public void onBuildStart(Class<?> beanClass) {
+                events.add("start " + beanClass.getSimpleName());
+            }
+
+            @Override
+            public void onBuildEnd(Class<?> beanClass, Object bean, long nanos) {
+                Assertions.assertTrue(nanos >= 0);
+                events.add("end " + beanClass.getSimpleName());
+            }
+
+            @Override
+            public void onPropertyGenerated(Class<?> beanClass, String propertyName, ValueGenerator generator, long nanos) {
+                Assertions.assertNotNull(generator);
+                events.add(propertyName);
+            }
+
+            @Override
+            public void onSave(BeanSaver beanSaver, Object bean, long nanos) {
+                events.add("save " + bean.getClass().getSimpleName());
+            }
+
+            @Override
+            public void onDelete(BeanSaver beanSaver, Object bean, long nanos) {
+                events.add("delete " + bean.getClass().getSimpleName());
+            }
+
+        });
+
+        NestedBean bean = beanBuilder.start(NestedBean.class).fill().save();
+        beanBuilder.delete(bean);
+        beanBuilder.start(PrimitiveBean.class).generateValue("count").construct();
+
+        Assertions.assertEquals(Arrays.asList(
+                "start NestedBean", "value", "save String", "end NestedBean", "save NestedBean", "delete NestedBean",
+                "start PrimitiveBean", "count", "end PrimitiveBean"), events);
+    }
+
+    @Test
+    public void testListenerBuildFailed() {
+        List<String> events = new ArrayList<>();
+        beanBuilder.addListener(new BeanBuildListener() {
+
+            @Override
+            public void onBuildFailed(Class<?> beanClass, Throwable failure) {
+                events.add("failed " + beanClass.getSimpleName());
+            }
+
+        });
+        beanBuilder.register(NestedBean.class, "value", type -> {
+            throw new IllegalArgumentException("Broken generator");
+        });
+
+        Assertions.assertThrows(IllegalStateException.class, () -> beanBuilder.generate(SimpleBean.class));
+        Assertions.assertEquals(Arrays.asList("failed NestedBean", "failed SimpleBean"), events);
+    }
+
+    @Test
+    public void testRemoveListener() {
+        List<Class<?>> built = new ArrayList<>();
+        BeanBuildListener listener = new BeanBuildListener() {
+
+            @Override
+            public void onBuildStart(Class<?> beanClass) {
+                built.add(beanClass);
+            }
+
+        };
+
+        beanBuilder.addListener(listener).removeListener(listener);
+        beanBuilder.generateSafely(NestedBean.class);
+        Assertions.assertTrue(built.isEmpty());
+    }
+
     // With mapping
 
     @Test
@@ -0,0 +1,22 @@
+package nl._42.beanie.domain;
+
+public final class ImmutableBean {
+
+    private final String name;
+
+    private final long number;
+
+    public ImmutableBean(String name, long number) {
+        this.name = name;
+        this.number = number;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+}
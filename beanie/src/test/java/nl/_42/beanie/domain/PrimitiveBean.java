@@ -0,0 +1,35 @@
+package nl._42.beanie.domain;
+
+public class PrimitiveBean {
+
+    private int count;
+
+    private long number;
+
+    private double amount;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public void setNumber(long number) {
+        this.number = number;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+}
@@ -0,0 +1,5 @@
+package nl._42.beanie.domain;
+
+public record SimpleRecord(String name, int count, NestedBean nestedBean) {
+
+}
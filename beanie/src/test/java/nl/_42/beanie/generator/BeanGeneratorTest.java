@@ -0,0 +1,74 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator;
+
+import nl._42.beanie.domain.NestedBeanWithConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanInstantiationException;
+
+public class BeanGeneratorTest {
+
+    @Test
+    public void testGenerateWithConstructor() {
+        BeanGenerator generator = new BeanGenerator(new ConstantValueGenerator("value"));
+
+        NestedBeanWithConstructor first = (NestedBeanWithConstructor) generator.generate(NestedBeanWithConstructor.class);
+        NestedBeanWithConstructor second = (NestedBeanWithConstructor) generator.generate(NestedBeanWithConstructor.class);
+
+        Assertions.assertEquals("value", first.getValue());
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    public void testGeneratePrimitiveWithoutValue() {
+        BeanGenerator generator = new BeanGenerator(new ConstantValueGenerator(null));
+
+        PrimitiveBean bean = (PrimitiveBean) generator.generate(PrimitiveBean.class);
+        Assertions.assertEquals(0, bean.number);
+        Assertions.assertFalse(bean.flag);
+    }
+
+    @Test
+    public void testGenerateFailure() {
+        BeanGenerator generator = new BeanGenerator(new ConstantValueGenerator(null));
+        Assertions.assertThrows(BeanInstantiationException.class, () -> generator.generate(FailingBean.class));
+    }
+
+    @Test
+    public void testGenerateFatalFailure() {
+        BeanGenerator generator = new BeanGenerator(new ConstantValueGenerator(null));
+        Assertions.assertThrows(AssertionError.class, () -> generator.generate(FatalBean.class));
+    }
+
+    private static class PrimitiveBean {
+
+        private final int number;
+
+        private final boolean flag;
+
+        private PrimitiveBean(int number, boolean flag) {
+            this.number = number;
+            this.flag = flag;
+        }
+
+    }
+
+    private static class FailingBean {
+
+        private FailingBean(String value) {
+            throw new IllegalStateException("Constructor failed");
+        }
+
+    }
+
+    private static class FatalBean {
+
+        private FatalBean(String value) {
+            throw new AssertionError("Constructor failed fatally");
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator;
+
+import nl._42.beanie.domain.SomeAbstract;
+import nl._42.beanie.domain.SomeImplementation;
+import nl._42.beanie.domain.SomeInterface;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FirstImplBeanGeneratorTest {
+
+    @Test
+    public void testGenerate() {
+        FirstImplBeanGenerator generator = new FirstImplBeanGenerator(new NoArgBeanGenerator());
+        Object first = generator.generate(SomeAbstract.class);
+        Object second = generator.generate(SomeAbstract.class);
+
+        Assertions.assertEquals(SomeImplementation.class, first.getClass());
+        Assertions.assertEquals(SomeImplementation.class, second.getClass());
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    public void testPrepare() {
+        FirstImplBeanGenerator generator = new FirstImplBeanGenerator(new NoArgBeanGenerator())
+                .prepare(SomeAbstract.class, SomeInterface.class);
+
+        Assertions.assertEquals(SomeImplementation.class, generator.generate(SomeInterface.class).getClass());
+    }
+
+    @Test
+    public void testPrepareWithoutImplementation() {
+        FirstImplBeanGenerator generator = new FirstImplBeanGenerator(new NoArgBeanGenerator());
+        Assertions.assertThrows(IllegalStateException.class, () -> generator.prepare(Runnable.class));
+    }
+
+}
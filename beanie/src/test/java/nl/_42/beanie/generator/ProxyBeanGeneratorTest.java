@@ -0,0 +1,39 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator;
+
+import nl._42.beanie.domain.SomeAbstract;
+import nl._42.beanie.domain.SomeInterface;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ProxyBeanGeneratorTest {
+
+    private final ProxyBeanGenerator generator = new ProxyBeanGenerator();
+
+    @Test
+    public void testGenerateInterface() {
+        Object first = generator.generate(SomeInterface.class);
+        Object second = generator.generate(SomeInterface.class);
+
+        Assertions.assertTrue(first instanceof SomeInterface);
+        Assertions.assertSame(first.getClass(), second.getClass());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(first, first);
+    }
+
+    @Test
+    public void testGenerateAbstract() {
+        Object first = generator.generate(SomeAbstract.class);
+        Object second = generator.generate(SomeAbstract.class);
+
+        Assertions.assertTrue(first instanceof SomeAbstract);
+        Assertions.assertSame(first.getClass(), second.getClass());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(first, first);
+    }
+
+}
@@ -6,6 +6,11 @@ package nl._42.beanie.generator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * 
  *
@@ -32,4 +37,15 @@ public class SequentialValueGeneratorTest {
         Assertions.assertEquals(1, generator.generate(null));
     }
 
+    @Test
+    public void testSequenceRepeatParallel() {
+        SequentialValueGenerator generator = new SequentialValueGenerator(new Integer[] { 1, 2, 3 }).repeatable();
+
+        Map<Object, Long> counts = IntStream.range(0, 3000).parallel()
+                .mapToObj(i -> generator.generate(null))
+                .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting()));
+
+        Assertions.assertEquals(Map.of(1, 1000L, 2, 1000L, 3, 1000L), counts);
+    }
+
 }
@@ -3,9 +3,12 @@
  */
 package nl._42.beanie.generator;
 
+import nl._42.beanie.generator.random.RandomUUIDGenerator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.UUID;
+
 /**
  * 
  *
@@ -24,4 +27,11 @@ public class UUIDStringGeneratorTest {
         Assertions.assertNotEquals(first, second);
     }
 
+    @Test
+    public void testGenerateFast() {
+        UUIDStringGenerator generator = new UUIDStringGenerator(new RandomUUIDGenerator());
+        String value = generator.generate(null);
+        Assertions.assertEquals(4, UUID.fromString(value).version());
+    }
+
 }
@@ -0,0 +1,39 @@
+/*
+ * (C) 2013 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.increment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+public class LongValueIncrementorTest {
+
+    @Test
+    public void testSequence() {
+        LongValueIncrementor generator = new LongValueIncrementor();
+        Assertions.assertEquals(1L, generator.generate(null));
+        Assertions.assertEquals(2L, generator.generate(null));
+        Assertions.assertEquals(3L, generator.generateLong(null));
+    }
+
+    @Test
+    public void testParallel() {
+        assertUnique(new LongValueIncrementor(), 10_000);
+    }
+
+    @Test
+    public void testStripedParallel() {
+        assertUnique(LongValueIncrementor.striped(1L, 64), 10_000);
+    }
+
+    private void assertUnique(LongValueIncrementor generator, int count) {
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, count).parallel().forEach(i -> values.add(generator.generateLong(null)));
+        Assertions.assertEquals(count, values.size());
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * (C) 2013 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.increment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class PartitionedValueIncrementorTest {
+
+    @Test
+    public void testDisjointRanges() {
+        PartitionedValueIncrementor first = new PartitionedValueIncrementor(Partition.of(0), 100);
+        PartitionedValueIncrementor second = new PartitionedValueIncrementor(Partition.of(1), 100);
+
+        Assertions.assertEquals(1L, first.generateLong(null));
+        Assertions.assertEquals(2L, first.generate(null));
+        Assertions.assertEquals(101L, second.generateLong(null));
+    }
+
+    @Test
+    public void testExhausted() {
+        PartitionedValueIncrementor generator = new PartitionedValueIncrementor(Partition.of(0), 1);
+        generator.generateLong(null);
+        Assertions.assertThrows(IllegalStateException.class, () -> generator.generateLong(null));
+    }
+
+    @Test
+    public void testGenerateInt() {
+        PartitionedValueIncrementor generator = PartitionedValueIncrementor.forInt(Partition.of(3));
+
+        Assertions.assertEquals(3_000_001, generator.generateInt(int.class));
+        Assertions.assertEquals(Integer.valueOf(3_000_002), generator.generate(Integer.class));
+        Assertions.assertEquals(Long.valueOf(3_000_003), generator.generate(Long.class));
+    }
+
+    @Test
+    public void testGenerateIntOutOfRange() {
+        PartitionedValueIncrementor generator = new PartitionedValueIncrementor(Partition.of(3));
+        Assertions.assertThrows(IllegalStateException.class, () -> generator.generateInt(int.class));
+    }
+
+    @Test
+    public void testLock(@TempDir Path directory) throws IOException {
+        try (Partition first = Partition.lock(directory); Partition second = Partition.lock(directory)) {
+            Assertions.assertEquals(0, first.getIndex());
+            Assertions.assertEquals(1, second.getIndex());
+        }
+
+        try (Partition released = Partition.lock(directory)) {
+            Assertions.assertEquals(0, released.getIndex());
+        }
+    }
+
+    @Test
+    public void testKeepLockedPartition(@TempDir Path directory) throws IOException {
+        PartitionedValueIncrementor generator = new PartitionedValueIncrementor(Partition.lock(directory), 100);
+        System.gc();
+
+        try (Partition next = Partition.lock(directory)) {
+            Assertions.assertEquals(1, next.getIndex());
+        }
+
+        Partition partition = generator.getPartition();
+        Assertions.assertTrue(partition.isValid());
+        partition.close();
+        Assertions.assertFalse(partition.isValid());
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RandomLocalDateGeneratorTest {
+
+    @Test
+    public void testGenerate() {
+        LocalDate min = LocalDate.of(2012, 12, 30);
+        LocalDate max = LocalDate.of(2013, 1, 2);
+
+        RandomLocalDateGenerator generator = new RandomLocalDateGenerator(min, max);
+
+        Set<LocalDate> dates = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDate date = generator.generate(null);
+            Assertions.assertFalse(date.isBefore(min));
+            Assertions.assertFalse(date.isAfter(max));
+            dates.add(date);
+        }
+        Assertions.assertEquals(4, dates.size());
+    }
+
+    @Test
+    public void testGenerateSingleDay() {
+        LocalDate date = LocalDate.of(2014, 2, 19);
+        Assertions.assertEquals(date, new RandomLocalDateGenerator(date, date).generate(null));
+    }
+
+    @Test
+    public void testInvalidRange() {
+        LocalDate date = LocalDate.of(2014, 2, 19);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RandomLocalDateGenerator(date, date.minusDays(1)));
+    }
+
+}
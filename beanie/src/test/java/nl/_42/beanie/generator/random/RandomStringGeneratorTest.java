@@ -0,0 +1,43 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RandomStringGeneratorTest {
+
+    @Test
+    public void testRandomString() {
+        RandomStringGenerator generator = new RandomStringGenerator(1, 10, "abc");
+
+        String value = generator.randomString(1000);
+        Assertions.assertEquals(1000, value.length());
+        Assertions.assertTrue(value.matches("[abc]+"));
+        Assertions.assertTrue(value.contains("a") && value.contains("b") && value.contains("c"));
+    }
+
+    @Test
+    public void testRandomStrings() {
+        RandomStringGenerator generator = new RandomStringGenerator(5, 10);
+
+        String[] values = generator.randomStrings(100);
+        Assertions.assertEquals(100, values.length);
+        for (String value : values) {
+            Assertions.assertTrue(value.length() >= 5 && value.length() < 10);
+            Assertions.assertTrue(value.matches("[A-Za-z]+"));
+        }
+    }
+
+    @Test
+    public void testRandomStringNonLatin() {
+        RandomStringGenerator generator = new RandomStringGenerator(1, 10, "αβ");
+
+        String value = generator.randomString(50);
+        Assertions.assertEquals(50, value.length());
+        Assertions.assertTrue(value.matches("[αβ]+"));
+        Assertions.assertEquals(3, generator.randomStrings(3).length);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RandomSupportTest {
+
+    private final RandomStringGenerator generator = new RandomStringGenerator(10, 20);
+
+    @AfterEach
+    public void tearDown() {
+        RandomSupport.useDefault();
+    }
+
+    @Test
+    public void testSeeded() {
+        RandomSupport.useSeed(42L);
+        List<Object> first = generate(10);
+
+        RandomSupport.useSeed(42L);
+        List<Object> second = generate(10);
+
+        Assertions.assertEquals(first, second);
+    }
+
+    @Test
+    public void testDefault() {
+        List<Object> values = generate(10);
+        Assertions.assertEquals(10, values.size());
+        Assertions.assertNotEquals(values.get(0), values.get(1));
+    }
+
+    private List<Object> generate(int count) {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(generator.generate(String.class));
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+public class RandomZonedDateTimeGeneratorTest {
+
+    private static final LocalDate MIN = LocalDate.of(2012, 5, 6);
+
+    private static final LocalDate MAX = LocalDate.of(2014, 2, 19);
+
+    @Test
+    public void testGenerate() {
+        ZoneId zone = ZoneId.of("Europe/Amsterdam");
+        RandomZonedDateTimeGenerator generator = new RandomZonedDateTimeGenerator(MIN, MAX, zone);
+        for (int i = 0; i < 50; i++) {
+            ZonedDateTime time = generator.generate(null);
+            Assertions.assertEquals(zone, time.getZone());
+            Assertions.assertFalse(time.isBefore(MIN.atStartOfDay(zone)));
+            Assertions.assertTrue(time.isBefore(MAX.plusDays(1).atStartOfDay(zone)));
+        }
+    }
+
+    @Test
+    public void testGenerateOffset() {
+        ZoneOffset offset = ZoneOffset.ofHours(2);
+        RandomOffsetDateTimeGenerator generator = new RandomOffsetDateTimeGenerator(MIN, MAX, offset);
+        for (int i = 0; i < 50; i++) {
+            OffsetDateTime time = generator.generate(null);
+            Assertions.assertEquals(offset, time.getOffset());
+            Assertions.assertFalse(time.toLocalDate().isBefore(MIN));
+            Assertions.assertFalse(time.toLocalDate().isAfter(MAX));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.generator.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public class TimeOrderedUUIDGeneratorTest {
+
+    @Test
+    public void testGenerate() {
+        Instant now = Instant.parse("2023-04-01T12:00:00Z");
+        TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator(Clock.fixed(now, ZoneOffset.UTC));
+
+        UUID previous = generator.generate(UUID.class);
+        Assertions.assertEquals(7, previous.version());
+        Assertions.assertEquals(2, previous.variant());
+        Assertions.assertEquals(now.toEpochMilli(), previous.getMostSignificantBits() >>> 16);
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.generate(UUID.class);
+            Assertions.assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        RandomUUIDGenerator generator = new RandomUUIDGenerator();
+
+        UUID first = generator.generate(UUID.class);
+        Assertions.assertEquals(4, first.version());
+        Assertions.assertEquals(2, first.variant());
+        Assertions.assertNotEquals(first, generator.generate(UUID.class));
+    }
+
+}
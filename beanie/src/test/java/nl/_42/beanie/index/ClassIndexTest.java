@@ -0,0 +1,72 @@
+package nl._42.beanie.index;
+
+import nl._42.beanie.domain.EmptyBean;
+import nl._42.beanie.domain.EmptyChildBean;
+import nl._42.beanie.domain.SomeImplementation;
+import nl._42.beanie.domain.SomeInterface;
+import nl._42.beanie.generator.FirstImplBeanGenerator;
+import nl._42.beanie.generator.NoArgBeanGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ClassIndexTest {
+
+    private ClassIndex classIndex;
+
+    @BeforeEach
+    public void setUp() {
+        classIndex = ClassIndex.load(getClass().getClassLoader(), "nl/_42/beanie/index/test.idx");
+    }
+
+    @Test
+    public void testGetTypes() {
+        Assertions.assertFalse(classIndex.isEmpty());
+        Assertions.assertEquals(7, classIndex.getTypes("nl._42.beanie").size());
+        Assertions.assertTrue(classIndex.getTypes("nl._42.beanie.dom").isEmpty());
+    }
+
+    @Test
+    public void testIsComplete() {
+        Assertions.assertTrue(classIndex.isComplete("nl._42.beanie.domain"));
+        // Also declared in the main classes, which have no such index
+        Assertions.assertFalse(classIndex.isComplete("nl._42.beanie"));
+        Assertions.assertFalse(classIndex.isComplete("nl._42.beanie.dom"));
+    }
+
+    @Test
+    public void testGetImplementations() {
+        List<ClassIndex.Entry> implementations = classIndex.getImplementations("nl._42.beanie.domain", SomeInterface.class);
+        Assertions.assertEquals(2, implementations.size());
+        Assertions.assertEquals(SomeImplementation.class.getName(), implementations.get(1).getClassName());
+    }
+
+    @Test
+    public void testEmpty() {
+        Assertions.assertTrue(ClassIndex.load(getClass().getClassLoader(), "unknown.idx").isEmpty());
+    }
+
+    @Test
+    public void testFindCandidateComponents() {
+        IndexedCandidateComponentProvider provider = new IndexedCandidateComponentProvider(classIndex);
+        provider.addIncludeFilter(new AssignableTypeFilter(EmptyBean.class));
+
+        Set<String> classNames = provider.findCandidateComponents("nl._42.beanie.domain").stream()
+                .map(BeanDefinition::getBeanClassName)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of(EmptyBean.class.getName(), EmptyChildBean.class.getName()), classNames);
+    }
+
+    @Test
+    public void testFirstImplementation() {
+        FirstImplBeanGenerator generator = new FirstImplBeanGenerator(new NoArgBeanGenerator(), classIndex);
+        Assertions.assertEquals(SomeImplementation.class, generator.generate(SomeInterface.class).getClass());
+    }
+
+}
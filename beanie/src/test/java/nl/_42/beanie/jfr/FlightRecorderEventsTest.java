@@ -0,0 +1,59 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.domain.NestedBean;
+import nl._42.beanie.domain.SomeInterface;
+import nl._42.beanie.generator.FirstImplBeanGenerator;
+import nl._42.beanie.index.ClassIndex;
+import nl._42.beanie.save.NoOperationBeanSaver;
+import nl._42.beanie.save.RecordingBeanSaver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testEvents() throws Exception {
+        BeanBuilder beanBuilder = new BeanBuilder(new RecordingBeanSaver(new NoOperationBeanSaver()));
+        FirstImplBeanGenerator generator = new FirstImplBeanGenerator(beanBuilder, ClassIndex.load(getClass().getClassLoader(), "META-INF/none.idx"));
+
+        Path file = directory.resolve("beanie.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("beanie.Build");
+            recording.enable("beanie.GenerateProperty");
+            recording.enable("beanie.Save");
+            recording.enable("beanie.ClasspathScan");
+            recording.start();
+
+            beanBuilder.start(NestedBean.class).fill().save();
+            generator.generate(SomeInterface.class);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Assertions.assertTrue(contains(events, "beanie.Build", "beanClass", NestedBean.class.getName()));
+        Assertions.assertTrue(contains(events, "beanie.GenerateProperty", "propertyName", "value"));
+        Assertions.assertTrue(contains(events, "beanie.Save", "beanClass", NestedBean.class.getName()));
+        Assertions.assertTrue(contains(events, "beanie.ClasspathScan", "type", SomeInterface.class.getName()));
+    }
+
+    private static boolean contains(List<RecordedEvent> events, String name, String field, String value) {
+        return events.stream().anyMatch(event -> event.getEventType().getName().equals(name) && value.equals(event.getString(field)));
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.beanie.measure;
+
+import nl._42.beanie.BeanBuilder;
+import nl._42.beanie.domain.NestedBean;
+import nl._42.beanie.domain.SimpleBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class BuildMeterTest {
+
+    private final BeanBuilder beanBuilder = new BeanBuilder();
+
+    private final BuildMeter meter = new BuildMeter(beanBuilder);
+
+    @Test
+    public void testMeasure() {
+        BuildMeasurement<SimpleBean> measurement = meter.measure(SimpleBean.class);
+
+        Assertions.assertNotNull(measurement.getBean().getNestedBean());
+        Assertions.assertEquals(2, measurement.getDepth());
+        Assertions.assertEquals(1, measurement.getTotals().get(SimpleBean.class).getCount());
+        Assertions.assertEquals(1, measurement.getTotals().get(NestedBean.class).getCount());
+        Assertions.assertTrue(measurement.getObjects() > 3);
+        Assertions.assertTrue(measurement.getShallowBytes() > 0);
+        Assertions.assertTrue(measurement.getAllocatedBytes() != 0);
+        Assertions.assertTrue(measurement.toString().contains(SimpleBean.class.getName()));
+    }
+
+    @Test
+    public void testMeasureSharedAndNested() {
+        BuildMeasurement<List<NestedBean>> measurement = meter.measure(() -> {
+            NestedBean shared = beanBuilder.start(NestedBean.class).withValue("value", "shared").construct();
+            return List.of(shared, shared);
+        });
+
+        Assertions.assertEquals(1, measurement.getTotals().get(NestedBean.class).getCount());
+        Assertions.assertEquals(1, measurement.getTotals().get(String.class).getCount());
+        Assertions.assertEquals(1, measurement.getDepth());
+    }
+
+    @Test
+    public void testMeasureOnlyBuiltBeans() {
+        NestedBean unrelated = new NestedBean();
+        unrelated.setValue("unrelated");
+
+        BuildMeasurement<SimpleBean> measurement = meter.measure(() -> beanBuilder.start(SimpleBean.class).withValue("nestedBean", unrelated).construct());
+
+        Assertions.assertEquals(1, measurement.getTotals().get(NestedBean.class).getCount());
+        Assertions.assertNull(measurement.getTotals().get(String.class));
+        Assertions.assertEquals(0, measurement.getDepth());
+    }
+
+    @Test
+    public void testEstimateShallowSize() {
+        ShallowSizeEstimator estimator = new ShallowSizeEstimator();
+        Assertions.assertEquals(16, estimator.estimate(new Object()));
+        Assertions.assertEquals(16, estimator.estimate(new NestedBean()));
+        Assertions.assertEquals(32, estimator.estimate(new long[2]));
+        Assertions.assertEquals(16, estimator.estimate(new Object[0]));
+    }
+
+}
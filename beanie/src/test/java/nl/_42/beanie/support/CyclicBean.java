@@ -0,0 +1,25 @@
+package nl._42.beanie.support;
+
+public class CyclicBean {
+
+    private String name;
+
+    private CyclicBean parent;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public CyclicBean getParent() {
+        return parent;
+    }
+
+    public void setParent(CyclicBean parent) {
+        this.parent = parent;
+    }
+
+}
@@ -0,0 +1,4 @@
+package nl._42.beanie.support;
+
+public record LinkedRecord(String name, LinkedRecord next) {
+}
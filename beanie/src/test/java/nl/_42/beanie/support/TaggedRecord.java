@@ -0,0 +1,6 @@
+package nl._42.beanie.support;
+
+import java.util.List;
+
+public record TaggedRecord(String name, List<String> tags) {
+}
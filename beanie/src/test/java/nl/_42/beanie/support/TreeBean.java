@@ -0,0 +1,25 @@
+package nl._42.beanie.support;
+
+public class TreeBean {
+
+    private TreeBean left;
+
+    private TreeBean right;
+
+    public TreeBean getLeft() {
+        return left;
+    }
+
+    public void setLeft(TreeBean left) {
+        this.left = left;
+    }
+
+    public TreeBean getRight() {
+        return right;
+    }
+
+    public void setRight(TreeBean right) {
+        this.right = right;
+    }
+
+}
@@ -1,9 +1,17 @@
 package nl._42.beanie.tester;
 
+import nl._42.beanie.BeanBuilder;
 import nl._42.beanie.domain.FullBean;
+import nl._42.beanie.generator.UUIDStringGenerator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
 
 public class BeanTesterTest {
 
@@ -24,6 +32,68 @@ public class BeanTesterTest {
 		Assertions.assertTrue(verified > 0, "Expected atleast one bean to be verified.");
 	}
 
+	@Test
+	public void testAllBeansParallel() {
+		int verified = beanTester.executor(Executors.newFixedThreadPool(2)).verifyBeansParallel(this.getClass());
+		Assertions.assertEquals(beanTester.verifyBeans(this.getClass()), verified);
+	}
+
+	@Test
+	public void testAllBeansParallelWithFailures() {
+		AssertionError error = Assertions.assertThrows(AssertionError.class, () ->
+			new BeanTester().includeAllWithNullaryConstructor().verifyBeansParallel(FullBean.class)
+		);
+		Assertions.assertEquals(1, error.getSuppressed().length);
+		Assertions.assertTrue(error.getMessage().startsWith("1 of "));
+	}
+
+	@Test
+	public void testIncremental(@TempDir Path directory) {
+		Path cacheFile = directory.resolve("beanie.cache");
+		CountingBeanBuilder beanBuilder = new CountingBeanBuilder();
+		BeanTester incremental = new BeanTester(beanBuilder)
+				.incremental(cacheFile)
+				.exclude(FullBean.class);
+		incremental.includeAllWithNullaryConstructor();
+
+		int verified = incremental.verifyBeans(this.getClass());
+		Assertions.assertTrue(Files.exists(cacheFile));
+		Assertions.assertTrue(beanBuilder.generated > 0);
+
+		beanBuilder.generated = 0;
+		Assertions.assertEquals(verified, incremental.verifyBeans(this.getClass()));
+		Assertions.assertEquals(0, beanBuilder.generated);
+
+		incremental.forceFullVerification(true).verifyBeans(this.getClass());
+		Assertions.assertTrue(beanBuilder.generated > 0);
+	}
+
+	@Test
+	public void testIncrementalWithChangedConfiguration(@TempDir Path directory) throws IOException {
+		Path cacheFile = directory.resolve("beanie.cache");
+		Files.writeString(cacheFile, "nl._42.beanie.domain.Removed=0" + System.lineSeparator());
+		CountingBeanBuilder beanBuilder = new CountingBeanBuilder();
+		BeanTester incremental = new BeanTester(beanBuilder)
+				.incremental(cacheFile)
+				.exclude(FullBean.class);
+		incremental.includeAllWithNullaryConstructor();
+		incremental.verifyBeans(FullBean.class);
+		Assertions.assertFalse(Files.readString(cacheFile).contains("Removed"));
+
+		beanBuilder.generated = 0;
+		beanBuilder.register(String.class, new UUIDStringGenerator());
+		incremental.verifyBeans(FullBean.class);
+		Assertions.assertTrue(beanBuilder.generated > 0);
+
+		beanBuilder.generated = 0;
+		new BeanTester(beanBuilder, (a, b) -> a == b || (a != null && a.equals(b)))
+				.incremental(cacheFile)
+				.exclude(FullBean.class)
+				.includeAllWithNullaryConstructor()
+				.verifyBeans(FullBean.class);
+		Assertions.assertTrue(beanBuilder.generated > 0);
+	}
+
 	@Test
 	public void testSkipInherit() {
         beanTester.inherit(false).verifyBean(FullBean.class);
@@ -43,6 +113,13 @@ public class BeanTesterTest {
 		);
 	}
 	
+	@Test
+	public void testUnknownProperty() {
+		Assertions.assertThrows(IllegalArgumentException.class, () ->
+			beanTester.verifyProperty(FullBean.class, "unknown")
+		);
+	}
+
 	@Test
 	public void testExceptionProperty() {
 		Assertions.assertThrows(IllegalStateException.class, () ->
@@ -50,4 +127,16 @@ public class BeanTesterTest {
 		);
 	}
 
+	private static class CountingBeanBuilder extends BeanBuilder {
+
+		private int generated;
+
+		@Override
+		public Object generate(Class<?> beanClass) {
+			generated++;
+			return super.generate(beanClass);
+		}
+
+	}
+
 }